@@ -49,6 +49,9 @@
 import org.spongepowered.api.text.format.TextColors;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.entity.SpongeEntityType;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+import org.spongepowered.common.world.lighting.AsyncLightingExecutor;
+import org.spongepowered.common.world.lighting.LightingStatistics;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -121,6 +124,23 @@ static void reportTimings(CommandSource sender) {
                     return JSONUtil.singleObjectPair(input.getName(), JSONUtil.arrayOf(input.getCollectionCount(), input.getCollectionTime()));
                 })));
 
+        if (SpongeImpl.getGlobalConfig().getConfig().getModules().useOptimizations() &&
+                SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useAsyncLighting()) {
+            final AsyncLightingExecutor lightingExecutor = AsyncLightingExecutor.getInstance();
+            final LightingStatistics.Window lightingWindow = lightingExecutor.getStatistics().getWindow();
+            builder.add("lighting", JSONUtil.objectBuilder()
+                    .add("threads", lightingExecutor.getThreadCount())
+                    .add("queued", lightingExecutor.getQueuedUpdates())
+                    .add("submitted", lightingExecutor.getSubmittedChecks())
+                    .add("executed", lightingExecutor.getExecutedJobs())
+                    .add("rate", lightingWindow.getTasksPerSecond())
+                    .add("avgtime", lightingWindow.getAverageTime())
+                    .add("p99time", lightingWindow.getPercentileTime(0.99d))
+                    .add("pending", JSONUtil.mapArrayToObject(Sponge.getServer().getWorlds(), (world) -> {
+                        return JSONUtil.singleObjectPair(world.getName(), ((IMixinWorldServer) world).getChunksWithPendingLight());
+                    })));
+        }
+
         Set<BlockType> blockTypeSet = Sets.newHashSet();
         Set<EntityType> entityTypeSet = Sets.newHashSet();
 
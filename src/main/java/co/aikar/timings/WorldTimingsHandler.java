@@ -33,6 +33,7 @@ public class WorldTimingsHandler {
 
     public final Timing mobSpawn;
     public final Timing doChunkUnload;
+    public final Timing worldSave;
     public final Timing doPortalForcer;
     public final Timing scheduledBlocks;
     public final Timing scheduledBlocksCleanup;
@@ -80,6 +81,7 @@ public WorldTimingsHandler(World world) {
 
         this.mobSpawn = SpongeTimingsFactory.ofSafe(name + "mobSpawn");
         this.doChunkUnload = SpongeTimingsFactory.ofSafe(name + "doChunkUnload");
+        this.worldSave = SpongeTimingsFactory.ofSafe(name + "worldSave");
         this.scheduledBlocks = SpongeTimingsFactory.ofSafe(name + "Scheduled Blocks");
         this.scheduledBlocksCleanup = SpongeTimingsFactory.ofSafe(name + "Scheduled Blocks - Cleanup");
         this.scheduledBlocksTicking = SpongeTimingsFactory.ofSafe(name + "Scheduled Blocks - Ticking");
@@ -245,6 +245,17 @@ public static MapStorage getWorldMapStorage(World world) {
         return world.getMapStorage();
     }
 
+    /**
+     * Gets how far entities can extend past their position in the world,
+     * range queries over positions have to grow their area by it.
+     *
+     * @param world The world
+     * @return The maximum entity radius
+     */
+    public static double getMaxEntityRadius(World world) {
+        return World.MAX_ENTITY_RADIUS;
+    }
+
     public static int countEntities(WorldServer worldServer, net.minecraft.entity.EnumCreatureType type, boolean forSpawnCount) {
         return worldServer.countEntities(type.getCreatureClass());
     }
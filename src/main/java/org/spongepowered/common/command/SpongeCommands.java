@@ -48,6 +48,7 @@
 import net.minecraft.util.math.RayTraceResult;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.IChunkLoader;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.command.CommandCallable;
@@ -60,6 +61,8 @@
 import org.spongepowered.api.command.args.CommandContext;
 import org.spongepowered.api.command.spec.CommandExecutor;
 import org.spongepowered.api.command.spec.CommandSpec;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.event.SpongeEventFactory;
@@ -87,11 +90,18 @@
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.IMixinMinecraftServer;
 import org.spongepowered.common.interfaces.entity.IMixinEntity;
+import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
 import org.spongepowered.common.interfaces.world.IMixinDimensionType;
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.world.WorldManager;
+import org.spongepowered.common.world.lighting.AsyncLightingExecutor;
+import org.spongepowered.common.world.lighting.LightingStatistics;
+import org.spongepowered.common.world.storage.ColdChunkCache;
+import org.spongepowered.common.world.storage.RegionRecompressor;
+import org.spongepowered.common.world.storage.StripedChunkWriter;
 
 import java.io.File;
 import java.net.MalformedURLException;
@@ -106,7 +116,10 @@
 import java.util.List;
 import java.util.Optional;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 @NonnullByDefault
 public class SpongeCommands {
@@ -121,6 +134,8 @@ public class SpongeCommands {
     static final Text UNKNOWN = Text.of("UNKNOWN");
 
     private static final DecimalFormat THREE_DECIMAL_DIGITS_FORMATTER = new DecimalFormat("########0.000");
+    private static final DataQuery ENTITIES_QUERY = DataQuery.of("Entities");
+    private static final DataQuery TILE_ENTITIES_QUERY = DataQuery.of("TileEntities");
     /**
      * Create a new instance of the Sponge command structure.
      *
@@ -137,6 +152,9 @@ public static CommandSpec createSpongeCommand() {
         nonFlagChildren.register(createSpongePluginsCommand(), "plugins");
         nonFlagChildren.register(createSpongeTimingsCommand(), "timings");
         nonFlagChildren.register(createSpongeWhichCommand(), "which");
+        nonFlagChildren.register(createSpongeRecompressCommand(), "recompress");
+        nonFlagChildren.register(createSpongeSavedChunksCommand(), "savedchunks");
+        nonFlagChildren.register(createSpongeLightingCommand(), "lighting");
         flagChildren.register(createSpongeChunksCommand(), "chunks");
         flagChildren.register(createSpongeConfigCommand(), "config");
         flagChildren.register(createSpongeReloadCommand(), "reload"); // TODO: Should these two be subcommands of config, and what is now config be set?
@@ -158,6 +176,9 @@ INDENT, title("audit"), LONG_INDENT, "Audit mixin classes for implementation\n",
                         INDENT, title("plugins"), LONG_INDENT, "List currently installed plugins\n",
                         INDENT, title("which"), LONG_INDENT, "List plugins that own a specific command\n",
                         INDENT, title("tps"), LONG_INDENT, "Provides TPS (ticks per second) data for loaded worlds\n",
+                        INDENT, title("recompress"), LONG_INDENT, "Rewrites the region files of an unloaded world with its configured compression\n",
+                        INDENT, title("savedchunks"), LONG_INDENT, "Counts the chunks and entities saved in the region files of a world\n",
+                        INDENT, title("lighting"), LONG_INDENT, "Provides statistics of the async lighting backlog\n",
                         SpongeImplHooks.getAdditionalCommandDescriptions()))
                 .arguments(firstParsing(nonFlagChildren, flags()
                         .flag("-global", "g")
@@ -256,6 +277,16 @@ protected Text processGlobal(SpongeConfig<GlobalConfig> config, CommandSource so
                             source.sendMessage(Text.of("World ", Text.of(TextStyles.BOLD, world.getName()),
                                     getChunksInfo(((WorldServer) world))));
                         }
+                        final StripedChunkWriter writer = StripedChunkWriter.getInstance();
+                        if (writer != null) {
+                            source.sendMessage(Text.of("Chunk saving", NEWLINE_TEXT,
+                                    key("Save threads: "), value(writer.getThreadCount()), NEWLINE_TEXT,
+                                    key("Queued writes: "), value(writer.getQueueDepth()), NEWLINE_TEXT,
+                                    key("Completed writes: "), value(writer.getWriteCount()), NEWLINE_TEXT,
+                                    key("Average write time: "), value(THREE_DECIMAL_DIGITS_FORMATTER.format(writer.getAverageWriteMillis()) + "ms"),
+                                    NEWLINE_TEXT,
+                                    key("Max write time: "), value(THREE_DECIMAL_DIGITS_FORMATTER.format(writer.getMaxWriteMillis()) + "ms")));
+                        }
                         return Text.of("Printed chunk info for all worlds ");
                     }
 
@@ -284,7 +315,7 @@ protected Text value(Object text) {
                     }
 
                     protected Text getChunksInfo(WorldServer worldserver) {
-                        return Text.of(NEWLINE_TEXT, key("DimensionId: "), value(WorldManager.getDimensionId(worldserver)), NEWLINE_TEXT,
+                        final Text info = Text.of(NEWLINE_TEXT, key("DimensionId: "), value(WorldManager.getDimensionId(worldserver)), NEWLINE_TEXT,
                                 key("Loaded chunks: "), value(worldserver.getChunkProvider().getLoadedChunkCount()), NEWLINE_TEXT,
                                 key("Active chunks: "), value(worldserver.getChunkProvider().getLoadedChunks().size()), NEWLINE_TEXT,
                                 key("Entities: "), value(worldserver.loadedEntityList.size()), NEWLINE_TEXT,
@@ -292,6 +323,19 @@ protected Text getChunksInfo(WorldServer worldserver) {
                                 key("Removed Entities:"), value(worldserver.unloadedEntityList.size()), NEWLINE_TEXT,
                                 key("Removed Tile Entities: "), value(worldserver.tileEntitiesToBeRemoved), NEWLINE_TEXT
                         );
+                        final IChunkLoader chunkLoader = ((IMixinChunkProviderServer) worldserver.getChunkProvider()).getChunkLoader();
+                        if (!(chunkLoader instanceof IMixinAnvilChunkLoader)) {
+                            return info;
+                        }
+                        final ColdChunkCache coldCache = ((IMixinAnvilChunkLoader) chunkLoader).getColdChunkCache();
+                        if (!coldCache.isEnabled()) {
+                            return info;
+                        }
+                        return Text.of(info,
+                                key("Cold cached chunks: "), value(coldCache.getCount() + " (" + coldCache.getSize() / 1024 + " KiB)"), NEWLINE_TEXT,
+                                key("Cold cache hits: "), value(coldCache.getHits()), NEWLINE_TEXT,
+                                key("Cold cache misses: "), value(coldCache.getMisses()), NEWLINE_TEXT
+                        );
                     }
                 })
                 .build();
@@ -685,6 +729,115 @@ private static CommandSpec createSpongeWhichCommand() {
                 .build();
     }
 
+    private static CommandSpec createSpongeRecompressCommand() {
+        return CommandSpec.builder()
+                .permission("sponge.command.recompress")
+                .description(Text.of("Rewrites the region files of an unloaded world with its configured chunk compression."))
+                .arguments(world(Text.of("world")))
+                .executor((src, args) -> {
+                    final WorldProperties properties = args.<WorldProperties>getOne("world").get();
+                    if (Sponge.getServer().getWorld(properties.getUniqueId()).isPresent()) {
+                        throw new CommandException(Text.of("World ", properties.getWorldName(), " must be unloaded before it can be recompressed"));
+                    }
+                    final CompletableFuture<RegionRecompressor.Result> future;
+                    try {
+                        future = WorldManager.recompressWorld(properties);
+                    } catch (IllegalStateException e) {
+                        throw new CommandException(Text.of("World ", properties.getWorldName(), " can't be recompressed: ", e.getMessage()));
+                    }
+                    src.sendMessage(Text.of("Recompressing region files of world ", properties.getWorldName(), "..."));
+                    future.whenComplete((result, error) -> SpongeImpl.getServer().addScheduledTask(() -> {
+                        if (error != null) {
+                            SpongeImpl.getLogger().error("Failed to recompress world {}", properties.getWorldName(), error);
+                            src.sendMessage(Text.of(TextColors.RED, "Failed to recompress world ", properties.getWorldName(), ", see the console"));
+                            return;
+                        }
+                        src.sendMessage(Text.of("Recompressed ", result.getRecompressed(), " chunks of world ", properties.getWorldName()));
+                        if (result.getUnchanged() > 0) {
+                            src.sendMessage(Text.of(TextColors.YELLOW, result.getUnchanged(), " unreadable chunks were kept as they were stored"));
+                        }
+                        if (result.getUntouchedFiles() > 0) {
+                            src.sendMessage(Text.of(TextColors.YELLOW, result.getUntouchedFiles(),
+                                    " region files with a corrupt sector header were left untouched"));
+                        }
+                    }));
+                    return CommandResult.success();
+                })
+                .build();
+    }
+
+    private static CommandSpec createSpongeSavedChunksCommand() {
+        return CommandSpec.builder()
+                .permission("sponge.command.savedchunks")
+                .description(Text.of("Counts the chunks and entities saved in the region files of a loaded world."))
+                .arguments(world(Text.of("world")))
+                .executor((src, args) -> {
+                    final WorldProperties properties = args.<WorldProperties>getOne("world").get();
+                    final Optional<World> world = Sponge.getServer().getWorld(properties.getUniqueId());
+                    if (!world.isPresent()) {
+                        throw new CommandException(Text.of("World ", properties.getWorldName(), " must be loaded"));
+                    }
+                    final IMixinChunkProviderServer chunkProvider = (IMixinChunkProviderServer) ((WorldServer) world.get()).getChunkProvider();
+                    // Created here, it checks the state of the chunk loader
+                    final Stream<DataContainer> chunkStream = chunkProvider.getGeneratedChunksParallel();
+                    src.sendMessage(Text.of("Reading the saved chunks of world ", properties.getWorldName(), "..."));
+                    SpongeImpl.getScheduler().submitAsyncTask(() -> {
+                        final LongAdder chunks = new LongAdder();
+                        final LongAdder entities = new LongAdder();
+                        final LongAdder tileEntities = new LongAdder();
+                        try (Stream<DataContainer> stream = chunkStream) {
+                            stream.forEach(chunk -> {
+                                chunks.increment();
+                                chunk.getViewList(ENTITIES_QUERY).ifPresent(list -> entities.add(list.size()));
+                                chunk.getViewList(TILE_ENTITIES_QUERY).ifPresent(list -> tileEntities.add(list.size()));
+                            });
+                        }
+                        return new long[] {chunks.sum(), entities.sum(), tileEntities.sum()};
+                    }).whenComplete((counts, error) -> SpongeImpl.getServer().addScheduledTask(() -> {
+                        if (error != null) {
+                            SpongeImpl.getLogger().error("Failed to read the saved chunks of world {}", properties.getWorldName(), error);
+                            src.sendMessage(Text.of(TextColors.RED, "Failed to read the saved chunks of world ", properties.getWorldName(),
+                                    ", see the console"));
+                            return;
+                        }
+                        src.sendMessage(Text.of("World [", TextColors.DARK_GREEN, properties.getWorldName(), TextColors.RESET, "] Saved chunks: ",
+                                TextColors.LIGHT_PURPLE, counts[0], TextColors.RESET, ", Entities: ", TextColors.LIGHT_PURPLE, counts[1],
+                                TextColors.RESET, ", Tile entities: ", TextColors.LIGHT_PURPLE, counts[2]));
+                    }));
+                    return CommandResult.success();
+                })
+                .build();
+    }
+
+    private static CommandSpec createSpongeLightingCommand() {
+        return CommandSpec.builder()
+                .permission("sponge.command.lighting")
+                .description(Text.of("Provides statistics of the async lighting backlog."))
+                .executor((src, args) -> {
+                    if (!SpongeImpl.getGlobalConfig().getConfig().getModules().useOptimizations() ||
+                            !SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useAsyncLighting()) {
+                        throw new CommandException(Text.of("Async lighting is not enabled"));
+                    }
+                    final AsyncLightingExecutor executor = AsyncLightingExecutor.getInstance();
+                    final LightingStatistics.Window window = executor.getStatistics().getWindow();
+                    src.sendMessage(Text.of("Light threads: ", TextColors.LIGHT_PURPLE, executor.getThreadCount(), TextColors.RESET,
+                            ", Queued jobs: ", TextColors.LIGHT_PURPLE, executor.getQueuedUpdates()));
+                    src.sendMessage(Text.of("Jobs/s: ", TextColors.LIGHT_PURPLE, THREE_DECIMAL_DIGITS_FORMATTER.format(window.getTasksPerSecond()),
+                            TextColors.RESET, ", Mean: ", TextColors.RED, THREE_DECIMAL_DIGITS_FORMATTER.format(window.getAverageTime() * 1.0e-6d), "ms",
+                            TextColors.RESET, ", 99th percentile: ", TextColors.RED,
+                            THREE_DECIMAL_DIGITS_FORMATTER.format(window.getPercentileTime(0.99d) * 1.0e-6d), "ms"));
+                    src.sendMessage(Text.of("Submitted checks: ", TextColors.LIGHT_PURPLE, executor.getSubmittedChecks(), TextColors.RESET,
+                            ", Executed jobs: ", TextColors.LIGHT_PURPLE, executor.getExecutedJobs()));
+                    for (World world : Sponge.getServer().getWorlds()) {
+                        src.sendMessage(Text.of("World [", TextColors.DARK_GREEN, world.getName(), TextColors.RESET, "] (DIM",
+                                ((IMixinWorldServer) world).getDimensionId(), ") Chunks with pending light: ", TextColors.LIGHT_PURPLE,
+                                ((IMixinWorldServer) world).getChunksWithPendingLight()));
+                    }
+                    return CommandResult.success();
+                })
+                .build();
+    }
+
     private static CommandSpec createSpongeTpsCommand() {
         return CommandSpec.builder()
                 .permission("sponge.command.tps")
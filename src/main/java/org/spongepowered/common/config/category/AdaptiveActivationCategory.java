@@ -0,0 +1,58 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class AdaptiveActivationCategory extends ConfigCategory {
+
+    @Setting(value = "enabled", comment = "If enabled, activation is scaled back while the average tick time is above 'target-mspt' \n"
+            + "and restored once it drops well below it, within the configured minimum and maximum bounds.")
+    private boolean enabled = false;
+    @Setting(value = "target-mspt", comment = "The average milliseconds per tick above which activation is scaled back.")
+    private double targetMspt = 45.0D;
+    @Setting(value = "adjust-interval", comment = "The number of ticks between adjustments.")
+    private int adjustInterval = 100;
+    @Setting(value = "adjust-step", comment = "The fraction of the way between the configured value and its bound to move per adjustment.")
+    private double adjustStep = 0.1D;
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public double getTargetMspt() {
+        return this.targetMspt;
+    }
+
+    public int getAdjustInterval() {
+        return this.adjustInterval;
+    }
+
+    public double getAdjustStep() {
+        return this.adjustStep;
+    }
+}
@@ -33,9 +33,14 @@ public class AsyncLightingCategory extends ConfigCategory {
     @Setting(value = "enabled", comment = "If enabled, runs lighting updates async.")
     private boolean enabled = true;
 
-    @Setting(value = "num-threads", comment = "The amount of threads to dedicate for async lighting updates. (Default: 2)")
+    @Setting(value = "num-threads", comment = "The amount of threads to dedicate for async lighting updates."
+                                            + "\nThe threads are shared by all worlds. (Default: 2)")
     private int numAsyncThreads = 2;
 
+    @Setting(value = "max-queued-updates", comment = "The maximum number of light updates waiting to be processed before the threads"
+                                                   + "\nqueuing further updates help process them. Set to 0 for no limit. (Default: 0)")
+    private int maxQueuedUpdates = 0;
+
     public boolean isEnabled() {
         return this.enabled;
     }
@@ -43,4 +48,8 @@ public boolean isEnabled() {
     public int getNumThreads() {
         return this.numAsyncThreads;
     }
+
+    public int getMaxQueuedUpdates() {
+        return this.maxQueuedUpdates;
+    }
 }
@@ -39,6 +39,10 @@ public class EntityActivationRangeCategory extends ConfigCategory {
     private Map<String, Integer> defaultRanges = new HashMap<>();
     @Setting(value = "mods", comment = "Per-mod overrides. Refer to the minecraft default mod for example.")
     private Map<String, EntityActivationModCategory> modList = new HashMap<>();
+    @Setting(value = "adaptive", comment = "Shrinks activation ranges towards 'minimum-ranges' while the server is overloaded.")
+    private AdaptiveActivationCategory adaptive = new AdaptiveActivationCategory();
+    @Setting(value = "minimum-ranges", comment = "The smallest activation ranges adaptive activation may shrink to, per type.")
+    private Map<String, Integer> minimumRanges = new HashMap<>();
 
     public EntityActivationRangeCategory() {
         this.defaultRanges.put("ambient", 32);
@@ -46,6 +50,11 @@ public EntityActivationRangeCategory() {
         this.defaultRanges.put("creature", 32);
         this.defaultRanges.put("monster", 32);
         this.defaultRanges.put("misc", 16);
+        this.minimumRanges.put("ambient", 8);
+        this.minimumRanges.put("aquatic", 8);
+        this.minimumRanges.put("creature", 16);
+        this.minimumRanges.put("monster", 16);
+        this.minimumRanges.put("misc", 8);
     }
 
     public boolean autoPopulateData() {
@@ -59,4 +68,12 @@ public Map<String, Integer> getDefaultRanges() {
     public Map<String, EntityActivationModCategory> getModList() {
         return this.modList;
     }
+
+    public AdaptiveActivationCategory getAdaptive() {
+        return this.adaptive;
+    }
+
+    public Map<String, Integer> getMinimumRanges() {
+        return this.minimumRanges;
+    }
 }
\ No newline at end of file
@@ -27,6 +27,9 @@
 import ninja.leaping.configurate.objectmapping.Setting;
 import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @ConfigSerializable
 public class EntityCategory extends ConfigCategory {
 
@@ -54,6 +57,12 @@ public class EntityCategory extends ConfigCategory {
     private int hardDespawnRange = 128;
     @Setting(value = "living-soft-despawn-minimum-life", comment = "The amount of seconds before a living entity between the soft and hard despawn ranges from a player to be considered for despawning")
     private int minimumLife = 30;
+    @Setting(value = "max-ticks-per-chunk", comment = "Number of entities ticked in one chunk per tick. Entities over the limit are ticked in turn\n"
+            + "over the next ticks, players are never held back. Set to 0 to disable")
+    private int maxTicksPerChunk = 0;
+    @Setting(value = "max-ticks-per-type", comment = "Number of entities of a type ticked in one chunk per tick, by entity id. For example\n"
+            + "'minecraft:item=100'. Entities over the limit are ticked in turn over the next ticks.")
+    private Map<String, Integer> maxTicksPerType = new HashMap<>();
 
     public int getMaxSpeed() {
         return this.maxSpeed;
@@ -134,4 +143,16 @@ public int getMinimumLife() {
     public void setMinimumLife(int minimumLife) {
         this.minimumLife = Math.min(minimumLife, 20);
     }
-}
\ No newline at end of file
+
+    public int getMaxTicksPerChunk() {
+        return this.maxTicksPerChunk;
+    }
+
+    public void setMaxTicksPerChunk(int maxTicksPerChunk) {
+        this.maxTicksPerChunk = Math.max(0, maxTicksPerChunk);
+    }
+
+    public Map<String, Integer> getMaxTicksPerType() {
+        return this.maxTicksPerType;
+    }
+}
@@ -33,6 +33,11 @@ public class GlobalGeneralCategory extends GeneralCategory {
     @Setting(value = "file-io-thread-sleep", comment = "Enabled sleeping between chunk saves, beware of memory issues")
     private boolean fileIOThreadSleep = false;
 
+    @Setting(value = "chunk-save-threads", comment = "The number of threads used to save chunks to disk. Writes are striped by region file so\n"
+            + "writes to the same region file are always performed in order.\n"
+            + "Set to 0 to save all chunks on the single vanilla file IO thread. (Default: 0)")
+    private int chunkSaveThreads = 0;
+
     public GlobalGeneralCategory() {
         
     }
@@ -40,4 +45,8 @@ public GlobalGeneralCategory() {
     public boolean getFileIOThreadSleep() {
         return this.fileIOThreadSleep;
     }
+
+    public int getChunkSaveThreads() {
+        return this.chunkSaveThreads;
+    }
 }
@@ -63,6 +63,12 @@ public class GlobalWorldCategory extends WorldCategory {
             + "\nNote: If you are using SpongeForge, make sure to enter any mod fake player's UUID to this list.")
     private List<UUID> invalidLookupUuids = new ArrayList<>();
 
+    @Setting(value = "world-save-threads", comment =
+            "The number of threads used to compress the chunks of all worlds in parallel after they were saved,"
+            + "\nso the file IO thread only has to write them. The main thread only serializes the chunks."
+            + "\nSet to 0 to compress chunks on the file IO thread like vanilla. (Default: 0)")
+    private int worldSaveThreads = 0;
+
     public GlobalWorldCategory() {
         this.invalidLookupUuids.add(UUID.fromString("00000000-0000-0000-0000-000000000000"));
         this.invalidLookupUuids.add(UUID.fromString("0d0c4ca0-4ff1-11e4-916c-0800200c9a66")); // ComputerCraft FakePlayer
@@ -98,4 +104,8 @@ public int getGameProfileQueryTaskInterval() {
     public List<UUID> getInvalidLookupUuids() {
         return this.invalidLookupUuids;
     }
-}
\ No newline at end of file
+
+    public int getWorldSaveThreads() {
+        return this.worldSaveThreads;
+    }
+}
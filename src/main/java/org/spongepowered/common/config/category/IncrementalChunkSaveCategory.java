@@ -0,0 +1,50 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class IncrementalChunkSaveCategory extends ConfigCategory {
+
+    @Setting(value = "enabled", comment = "If enabled, the serialized block data of every chunk section is kept after a save and reused\n"
+            + "until a block in the section changes. Chunks whose blocks and entities have not changed since\n"
+            + "their last save are skipped by auto-saves.\n"
+            + "Note: This trades roughly 6KB of memory per loaded, non-empty chunk section for faster saves.")
+    private boolean enabled = false;
+
+    @Setting(value = "max-skipped-saves", comment = "The number of auto-saves an unchanged chunk containing entities may skip before it is\n"
+            + "saved again anyway, as changes to entities that do not move are not detected. (Default: 5)")
+    private int maxSkippedSaves = 5;
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public int getMaxSkippedSaves() {
+        return this.maxSkippedSaves;
+    }
+}
@@ -53,11 +53,21 @@ public class OptimizationCategory extends ConfigCategory {
     @Setting(value = "async-lighting", comment = "Runs lighting updates async.")
     private AsyncLightingCategory asyncLightingCategory = new AsyncLightingCategory();
 
+    @Setting(value = "incremental-chunk-saving", comment = "Reuses serialized chunk sections and skips unchanged chunks when saving.")
+    private IncrementalChunkSaveCategory incrementalChunkSaveCategory = new IncrementalChunkSaveCategory();
+
     @Setting(value = "panda-redstone", comment = "If enabled, uses Panda4494's Redstone implementation which improves performance.\n"
             + "See https://bugs.mojang.com/browse/MC-11193 for more information.\n"
             + "Note: This optimization has a few issues which is explained in the bug report. We are not responsible for any issues this may cause.")
     private boolean pandaRedstone = false;
 
+    @Setting(value = "parallel-entity-tracker", comment = "Builds the entity movement and metadata packets of the entity trackers on several threads.")
+    private ParallelEntityTrackerCategory parallelEntityTrackerCategory = new ParallelEntityTrackerCategory();
+
+    @Setting(value = "entity-spatial-hash", comment = "If enabled, tracks entities in a per-world spatial hash which is used to answer\n"
+            + "entity range queries instead of scanning every chunk section within the range.")
+    private boolean entitySpatialHash = false;
+
     public StructureSaveCategory getStructureSaveCategory() {
         return this.structureSaveCategory;
     }
@@ -85,4 +95,24 @@ public boolean useAsyncLighting() {
     public boolean usePandaRedstone() {
         return this.pandaRedstone;
     }
+
+    public IncrementalChunkSaveCategory getIncrementalChunkSaveCategory() {
+        return this.incrementalChunkSaveCategory;
+    }
+
+    public boolean useIncrementalChunkSaving() {
+        return this.incrementalChunkSaveCategory.isEnabled();
+    }
+
+    public boolean useEntitySpatialHash() {
+        return this.entitySpatialHash;
+    }
+
+    public ParallelEntityTrackerCategory getParallelEntityTrackerCategory() {
+        return this.parallelEntityTrackerCategory;
+    }
+
+    public boolean useParallelEntityTracker() {
+        return this.parallelEntityTrackerCategory.isEnabled();
+    }
 }
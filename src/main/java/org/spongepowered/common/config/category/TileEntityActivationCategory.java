@@ -41,6 +41,10 @@ public class TileEntityActivationCategory extends ConfigCategory {
     private int defaultTickRate = 1;
     @Setting(value = "mods", comment = "Per-mod overrides. Refer to the minecraft default mod for example.")
     private Map<String, TileEntityActivationModCategory> modList = new HashMap<>();
+    @Setting(value = "adaptive", comment = "Shrinks activation ranges while the server is overloaded.")
+    private AdaptiveActivationCategory adaptive = new AdaptiveActivationCategory();
+    @Setting(value = "minimum-block-range", comment = "The smallest activation block range adaptive activation may shrink to.")
+    private int minimumBlockRange = 16;
 
     public TileEntityActivationCategory() {
     }
@@ -60,4 +64,12 @@ public int getDefaultTickRate() {
     public Map<String, TileEntityActivationModCategory> getModList() {
         return this.modList;
     }
+
+    public AdaptiveActivationCategory getAdaptive() {
+        return this.adaptive;
+    }
+
+    public int getMinimumBlockRange() {
+        return this.minimumBlockRange;
+    }
 }
\ No newline at end of file
@@ -26,6 +26,7 @@
 
 import ninja.leaping.configurate.objectmapping.Setting;
 import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+import org.spongepowered.common.world.storage.ChunkCompression;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -98,6 +99,24 @@ public class WorldCategory extends ConfigCategory {
                                                     + "\nareas for more items. Setting to a negative value is not supported!")
     private double itemMergeRadius = 2.5D;
 
+    @Setting(value = "chunk-compression", comment = "The compression used when saving chunks of this world to region files."
+                                                   + "\nSupported values are DEFLATE (vanilla), GZIP and NONE. NONE is only recommended for worlds"
+                                                   + "\nstored in memory, as it greatly increases the size of region files."
+                                                   + "\nNote: Region files written with NONE can not be read by vanilla. (Default: DEFLATE)")
+    private ChunkCompression chunkCompression = ChunkCompression.DEFLATE;
+
+    @Setting(value = "chunk-compression-level", comment = "The compression level from 1 (fastest) to 9 (smallest) used with 'chunk-compression'."
+                                                         + "\nSet to -1 to use the default level of the codec. (Default: -1)")
+    private int chunkCompressionLevel = -1;
+
+    @Setting(value = "cold-chunk-cache-size", comment = "The amount of memory, in megabytes, used to keep recently unloaded chunks of this world"
+                                                     + "\ncompressed in memory, so they can be loaded again without reading the region file."
+                                                     + "\nSet to 0 to disable. (Default: 0)")
+    private int coldChunkCacheSize = 0;
+
+    @Setting(value = "cold-chunk-cache-expiry", comment = "The number of seconds an unloaded chunk is kept in the cold chunk cache. (Default: 300)")
+    private int coldChunkCacheExpiry = 300;
+
     @Setting(value = "weather-thunder", comment = "Enable to initiate thunderstorms in supported biomes.")
     private boolean weatherThunder = true;
 
@@ -216,4 +235,21 @@ public boolean getWeatherThunder() {
     public boolean getWeatherIceAndSnow() {
         return this.weatherIceAndSnow;
     }
-}
\ No newline at end of file
+
+    public ChunkCompression getChunkCompression() {
+        return this.chunkCompression;
+    }
+
+    public int getChunkCompressionLevel() {
+        // Anything else fails every chunk write
+        return Math.max(-1, Math.min(this.chunkCompressionLevel, 9));
+    }
+
+    public int getColdChunkCacheSize() {
+        return this.coldChunkCacheSize;
+    }
+
+    public int getColdChunkCacheExpiry() {
+        return this.coldChunkCacheExpiry;
+    }
+}
@@ -80,8 +80,9 @@ public class SpongeEntitySnapshot implements EntitySnapshot {
     private final Vector3d rotation;
     private final Vector3d scale;
     private final ImmutableList<ImmutableDataManipulator<?, ?>> manipulators;
-    private final ImmutableSet<Key<?>> keys;
-    private final ImmutableSet<ImmutableValue<?>> values;
+    // Built from the manipulators when first needed, see buildKeysAndValues
+    @Nullable private ImmutableSet<Key<?>> keys;
+    @Nullable private volatile ImmutableSet<ImmutableValue<?>> values;
     @Nullable private final NBTTagCompound compound;
     @Nullable private final WeakReference<Entity> entityReference;
     // TODO write optimization to lazy load and evaluate all of the manipulators
@@ -99,17 +100,6 @@ public class SpongeEntitySnapshot implements EntitySnapshot {
         if (this.manipulators.isEmpty()) {
             this.keys = ImmutableSet.of();
             this.values = ImmutableSet.of();
-        } else {
-            final ImmutableSet.Builder<Key<?>> keyBuilder = ImmutableSet.builder();
-            final ImmutableSet.Builder<ImmutableValue<?>> valueBuilder = ImmutableSet.builder();
-            for (ImmutableDataManipulator<?, ?> manipulator : this.manipulators) {
-                for (ImmutableValue<?> value : manipulator.getValues()) {
-                    keyBuilder.add(value.getKey());
-                    valueBuilder.add(value);
-                }
-            }
-            this.keys = keyBuilder.build();
-            this.values = valueBuilder.build();
         }
         // TODO cleanup: sensible defaults?
         this.compound = builder.compound == null ? null : builder.compound.copy();
@@ -124,6 +114,34 @@ public class SpongeEntitySnapshot implements EntitySnapshot {
         }
     }
 
+    /**
+     * Builds the keys and values of the manipulators, which most snapshots
+     * taken for events are never asked for. Only the immutable manipulators
+     * are read, so this is safe on any thread.
+     */
+    private ImmutableSet<ImmutableValue<?>> buildKeysAndValues() {
+        ImmutableSet<ImmutableValue<?>> values = this.values;
+        if (values == null) {
+            synchronized (this) {
+                values = this.values;
+                if (values == null) {
+                    final ImmutableSet.Builder<Key<?>> keyBuilder = ImmutableSet.builder();
+                    final ImmutableSet.Builder<ImmutableValue<?>> valueBuilder = ImmutableSet.builder();
+                    for (ImmutableDataManipulator<?, ?> manipulator : this.manipulators) {
+                        for (ImmutableValue<?> value : manipulator.getValues()) {
+                            keyBuilder.add(value.getKey());
+                            valueBuilder.add(value);
+                        }
+                    }
+                    // Written before the values, which publish them
+                    this.keys = keyBuilder.build();
+                    this.values = values = valueBuilder.build();
+                }
+            }
+        }
+        return values;
+    }
+
     // internal use only
     public WeakReference<Entity> getEntityReference() {
         return this.entityReference;
@@ -333,7 +351,7 @@ public EntitySnapshot merge(EntitySnapshot that, MergeFunction function) {
     @Override
     public <E> Optional<E> get(Key<? extends BaseValue<E>> key) {
         checkNotNull(key);
-        for (ImmutableValue<?> value : this.values) {
+        for (ImmutableValue<?> value : this.buildKeysAndValues()) {
             if (value.getKey().equals(key)) {
                 return Optional.of((E) value.get());
             }
@@ -345,7 +363,7 @@ public <E> Optional<E> get(Key<? extends BaseValue<E>> key) {
     @Override
     public <E, V extends BaseValue<E>> Optional<V> getValue(Key<V> key) {
         checkNotNull(key);
-        for (ImmutableValue<?> value : this.values) {
+        for (ImmutableValue<?> value : this.buildKeysAndValues()) {
             if (value.getKey().equals(key)) {
                 return Optional.of((V) value.asMutable());
             }
@@ -355,6 +373,7 @@ public <E, V extends BaseValue<E>> Optional<V> getValue(Key<V> key) {
 
     @Override
     public boolean supports(Key<?> key) {
+        this.buildKeysAndValues();
         return this.keys.contains(key);
     }
 
@@ -365,12 +384,13 @@ public EntitySnapshot copy() {
 
     @Override
     public Set<Key<?>> getKeys() {
+        this.buildKeysAndValues();
         return this.keys;
     }
 
     @Override
     public Set<ImmutableValue<?>> getValues() {
-        return this.values;
+        return this.buildKeysAndValues();
     }
 
     @Override
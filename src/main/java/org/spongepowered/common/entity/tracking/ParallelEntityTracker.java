@@ -0,0 +1,177 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity.tracking;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.entity.EntityTrackerEntry;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.network.NetHandlerPlayServer;
+import net.minecraft.network.Packet;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.ParallelEntityTrackerCategory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
+
+/**
+ * Runs the tracking updates of entity tracker entries on a shared pool.
+ *
+ * <p>Packets sent by a worker while updating its entries are queued per
+ * connection instead of being written out, and are sent by the main thread
+ * once all entries were updated. The packets of an entry keep their order,
+ * and the main thread only continues the tick after every packet was
+ * handed to the connections.</p>
+ */
+public final class ParallelEntityTracker {
+
+    // Below this amount of entries the hand-off costs more than it saves
+    private static final int MIN_ENTRIES_PER_TASK = 64;
+    private static final ThreadLocal<PacketQueue> CURRENT_QUEUE = new ThreadLocal<>();
+
+    @Nullable private static ParallelEntityTracker instance;
+
+    private final ForkJoinPool pool;
+    private final int threads;
+
+    public static synchronized ParallelEntityTracker getInstance() {
+        if (instance == null) {
+            final ParallelEntityTrackerCategory config = SpongeImpl.getGlobalConfig().getConfig().getOptimizations().getParallelEntityTrackerCategory();
+            instance = new ParallelEntityTracker(Math.max(1, config.getNumThreads()));
+        }
+        return instance;
+    }
+
+    private ParallelEntityTracker(int threads) {
+        final AtomicInteger threadId = new AtomicInteger();
+        this.pool = new ForkJoinPool(threads, pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("Sponge - Entity Tracker Thread #" + threadId.getAndIncrement());
+            return thread;
+        }, null, false);
+        this.threads = threads;
+    }
+
+    /**
+     * Queues the packet if the current thread is updating tracker entries.
+     *
+     * @param connection The connection the packet is sent to
+     * @param packet The packet
+     * @return Whether the packet was queued, and must not be sent now
+     */
+    public static boolean queuePacket(NetHandlerPlayServer connection, Packet<?> packet) {
+        final PacketQueue queue = CURRENT_QUEUE.get();
+        if (queue == null) {
+            return false;
+        }
+        queue.add(connection, packet);
+        return true;
+    }
+
+    /**
+     * Updates the given entries, blocking until all of them are done and
+     * their packets were sent.
+     *
+     * @param entries The entries to update
+     * @param players The players of the world
+     */
+    public void update(List<EntityTrackerEntry> entries, List<EntityPlayer> players) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        final int tasks = Math.min(this.threads * 4, Math.max(1, entries.size() / MIN_ENTRIES_PER_TASK));
+        if (tasks == 1) {
+            for (EntityTrackerEntry entry : entries) {
+                entry.updatePlayerList(players);
+            }
+            return;
+        }
+
+        final List<ForkJoinTask<PacketQueue>> submitted = new ArrayList<>(tasks);
+        final int size = entries.size();
+        for (int i = 0; i < tasks; i++) {
+            final List<EntityTrackerEntry> slice = entries.subList(size * i / tasks, size * (i + 1) / tasks);
+            submitted.add(this.pool.submit(() -> updateEntries(slice, players)));
+        }
+        RuntimeException exception = null;
+        for (ForkJoinTask<PacketQueue> task : submitted) {
+            try {
+                // Sent in submission order, the packets of an entry are always in the same queue
+                task.join().flush();
+            } catch (RuntimeException e) {
+                if (exception == null) {
+                    exception = e;
+                } else {
+                    exception.addSuppressed(e);
+                }
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    private static PacketQueue updateEntries(List<EntityTrackerEntry> entries, List<EntityPlayer> players) {
+        final PacketQueue queue = new PacketQueue();
+        CURRENT_QUEUE.set(queue);
+        try {
+            for (EntityTrackerEntry entry : entries) {
+                entry.updatePlayerList(players);
+            }
+        } finally {
+            CURRENT_QUEUE.remove();
+        }
+        return queue;
+    }
+
+    private static final class PacketQueue {
+
+        private final Reference2ObjectMap<NetHandlerPlayServer, List<Packet<?>>> packets = new Reference2ObjectOpenHashMap<>();
+
+        void add(NetHandlerPlayServer connection, Packet<?> packet) {
+            List<Packet<?>> queued = this.packets.get(connection);
+            if (queued == null) {
+                queued = new ArrayList<>();
+                this.packets.put(connection, queued);
+            }
+            queued.add(packet);
+        }
+
+        void flush() {
+            for (Reference2ObjectMap.Entry<NetHandlerPlayServer, List<Packet<?>>> entry : this.packets.reference2ObjectEntrySet()) {
+                final NetHandlerPlayServer connection = entry.getKey();
+                for (Packet<?> packet : entry.getValue()) {
+                    connection.sendPacket(packet);
+                }
+            }
+        }
+    }
+}
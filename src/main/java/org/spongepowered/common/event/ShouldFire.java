@@ -63,4 +63,6 @@ public class ShouldFire {
     public static boolean DEFUSE_EXPLOSIVE_EVENT_POST = false;
 
     public static boolean TICK_BLOCK_EVENT = false;
+
+    public static boolean COLLIDE_ENTITY_EVENT = false;
 }
@@ -237,6 +237,19 @@ public static CollideEntityEvent callCollideEntityEvent(net.minecraft.world.Worl
         }
     }
 
+    /**
+     * Gets whether {@link #callCollideEntityEvent} finds a source in the
+     * given context when no source entity is given, otherwise it returns
+     * null without throwing the event.
+     *
+     * @param context The current phase context
+     * @return True if the context has a source to collide for
+     */
+    public static boolean hasCollideEntitySource(PhaseContext context) {
+        return context.getSource(LocatableBlock.class).isPresent() || context.getSource(TileEntity.class).isPresent()
+                || context.getSource(Entity.class).isPresent();
+    }
+
     public static ChangeBlockEvent.Pre callChangeBlockEventPre(IMixinWorldServer worldIn, BlockPos pos) {
         return callChangeBlockEventPre(worldIn, ImmutableList.of(new Location<>((World) worldIn, pos.getX(), pos.getY(), pos.getZ())), null);
     }
@@ -37,6 +37,7 @@
 import org.spongepowered.api.world.Chunk;
 import org.spongepowered.api.world.extent.EntityUniverse;
 import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.world.lighting.ChunkLightingQueue;
 
 import java.util.List;
 import java.util.Map;
@@ -101,10 +102,6 @@ void getIntersectingEntities(Vector3d start, Vector3d direction, double distance
 
     void fill(ChunkPrimer primer);
 
-    boolean isSpawning();
-
-    void setIsSpawning(boolean spawning);
-
     AtomicInteger getPendingLightUpdates();
 
     long getLightUpdateTime();
@@ -118,4 +115,6 @@ void getIntersectingEntities(Vector3d start, Vector3d direction, double distance
     boolean isQueuedForUnload();
 
     CopyOnWriteArrayList<Short> getQueuedLightingUpdates(EnumSkyBlock type);
+
+    ChunkLightingQueue getLightingQueue();
 }
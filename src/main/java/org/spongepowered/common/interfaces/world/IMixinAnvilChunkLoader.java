@@ -25,6 +25,8 @@
 package org.spongepowered.common.interfaces.world;
 
 import net.minecraft.world.World;
+import org.spongepowered.common.world.storage.ColdChunkCache;
+import org.spongepowered.common.world.storage.RegionExistenceIndex;
 
 import java.nio.file.Path;
 
@@ -35,4 +37,43 @@ public interface IMixinAnvilChunkLoader {
 
     Path getWorldDir();
 
+    /**
+     * Gets whether any chunk is still queued to be written to disk.
+     *
+     * @return True if chunks are pending a write
+     */
+    boolean hasPendingChunks();
+
+    ColdChunkCache getColdChunkCache();
+
+    RegionExistenceIndex getRegionExistenceIndex();
+
+    /**
+     * Reads and parses the data of the given chunk ahead of it being loaded,
+     * so the load only has to create the chunk from it. Safe to call from
+     * any thread.
+     *
+     * <p>At most a spawn area worth of chunks is kept, and nothing is read
+     * anymore once {@link #clearPrefetchedChunks()} was called.</p>
+     *
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     */
+    void prefetchChunk(int x, int z);
+
+    /**
+     * Discards all chunks read by {@link #prefetchChunk(int, int)} that
+     * haven't been loaded, and stops prefetching for good.
+     */
+    void clearPrefetchedChunks();
+
+    /**
+     * Compresses all chunks that are queued to be written, so the file IO
+     * thread only has to copy them into their region files. Safe to call
+     * from any thread.
+     *
+     * @return The number of chunks compressed
+     */
+    int precompressPendingChunks();
+
 }
@@ -0,0 +1,88 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.interfaces.world;
+
+import org.spongepowered.common.world.storage.ChunkCompression;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import javax.annotation.Nullable;
+
+public interface IMixinRegionFile {
+
+    /**
+     * Gets an output stream for the chunk at the given region local
+     * coordinates, which is compressed with the given codec and written to
+     * the region file once closed.
+     *
+     * @param x The region local x coordinate
+     * @param z The region local z coordinate
+     * @param compression The compression codec
+     * @param level The compression level, or -1 for the codec default
+     * @return The output stream, or null if out of bounds
+     * @throws IOException If the compression stream could not be created
+     */
+    @Nullable
+    DataOutputStream getChunkDataOutputStream(int x, int z, ChunkCompression compression, int level) throws IOException;
+
+    /**
+     * Writes already compressed chunk data to the region file, tagged with
+     * the version of the given compression.
+     *
+     * @param x The region local x coordinate
+     * @param z The region local z coordinate
+     * @param data The compressed data
+     * @param length The length of the data
+     * @param compression The compression the data was written with
+     */
+    void writeChunk(int x, int z, byte[] data, int length, ChunkCompression compression);
+
+    /**
+     * Reads the chunk data at the given region local coordinates as it is
+     * stored, without decompressing it.
+     *
+     * <p>The first byte of the returned data is the compression version, the
+     * compressed data follows it.</p>
+     *
+     * @param x The region local x coordinate
+     * @param z The region local z coordinate
+     * @return The stored data, or null if there is no chunk or its sector
+     *     header is corrupt
+     * @throws IOException If the data could not be read
+     */
+    @Nullable
+    byte[] readRawChunk(int x, int z) throws IOException;
+
+    /**
+     * Writes chunk data as it was read by {@link #readRawChunk(int, int)}.
+     *
+     * @param x The region local x coordinate
+     * @param z The region local z coordinate
+     * @param raw The stored data, starting with the compression version
+     */
+    void writeRawChunk(int x, int z, byte[] raw);
+
+}
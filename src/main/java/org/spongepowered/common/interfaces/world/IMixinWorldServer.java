@@ -44,9 +44,9 @@
 import org.spongepowered.common.entity.EntityUtil;
 import org.spongepowered.common.world.gen.SpongeChunkGenerator;
 import org.spongepowered.common.world.gen.SpongeWorldGenerator;
+import org.spongepowered.common.world.lighting.AsyncLightingExecutor;
 
 import java.util.List;
-import java.util.concurrent.ExecutorService;
 
 import javax.annotation.Nullable;
 
@@ -98,7 +98,15 @@ default boolean forceSpawnEntity(Entity entity) {
 
     boolean checkLightAsync(EnumSkyBlock lightType, BlockPos pos, Chunk chunk, List<Chunk> neighbors);
 
-    ExecutorService getLightingExecutor();
+    AsyncLightingExecutor getLightingExecutor();
+
+    /**
+     * Gets the number of loaded chunks that still wait for light updates of
+     * themselves or a neighbor. Only available with async lighting enabled.
+     *
+     * @return The number of chunks
+     */
+    int getChunksWithPendingLight();
 
     WorldTimingsHandler getTimingsHandler();
 
@@ -28,6 +28,10 @@
 
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.IChunkLoader;
+import org.spongepowered.api.data.DataContainer;
+
+import java.util.stream.Stream;
 
 public interface IMixinChunkProviderServer {
 
@@ -44,4 +48,17 @@ public interface IMixinChunkProviderServer {
     long getChunkUnloadDelay();
 
     WorldServer getWorld();
+
+    IChunkLoader getChunkLoader();
+
+    /**
+     * Gets a parallel stream over the generated chunks of this world, the
+     * parallel counterpart of {@link org.spongepowered.api.world.storage.WorldStorage#getGeneratedChunks()}.
+     *
+     * <p>The stream must be closed once done, see
+     * {@link org.spongepowered.common.world.storage.WorldStorageUtil#streamGeneratedChunks}.</p>
+     *
+     * @return The parallel stream of chunk data
+     */
+    Stream<DataContainer> getGeneratedChunksParallel();
 }
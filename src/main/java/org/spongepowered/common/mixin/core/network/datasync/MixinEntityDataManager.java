@@ -24,17 +24,104 @@
  */
 package org.spongepowered.common.mixin.core.network.datasync;
 
+import com.google.common.collect.Lists;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraft.network.datasync.DataParameter;
 import net.minecraft.network.datasync.EntityDataManager;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Mutable;
+import org.spongepowered.asm.mixin.Overwrite;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+
+import javax.annotation.Nullable;
 
 @Mixin(EntityDataManager.class)
 public class MixinEntityDataManager {
 
     @Shadow @Final @Mutable public Map < Integer, EntityDataManager.DataEntry<? >> entries = new Int2ObjectOpenHashMap<>();
+    @Shadow @Final private ReadWriteLock lock;
+    @Shadow private boolean dirty;
+
+    // One bit per data parameter id, ids are limited to 254 by register
+    private final long[] dirtyIds = new long[4];
+
+    private void markDirty(int id) {
+        this.dirtyIds[id >>> 6] |= 1L << id;
+    }
+
+    // New entries start out dirty
+    @Inject(method = "setEntry", at = @At("RETURN"))
+    private void onSetEntry(DataParameter<?> key, Object value, CallbackInfo ci) {
+        this.markDirty(key.getId());
+    }
+
+    @Inject(method = "set", at = @At(value = "INVOKE", target = "Lnet/minecraft/network/datasync/EntityDataManager$DataEntry;setDirty(Z)V"))
+    private void onSetMarkDirty(DataParameter<?> key, Object value, CallbackInfo ci) {
+        this.markDirty(key.getId());
+    }
+
+    @Inject(method = "setDirty", at = @At("HEAD"))
+    private void onSetDirty(DataParameter<?> key, CallbackInfo ci) {
+        this.markDirty(key.getId());
+    }
+
+    @Inject(method = "setClean", at = @At("RETURN"))
+    private void onSetClean(CallbackInfo ci) {
+        Arrays.fill(this.dirtyIds, 0L);
+    }
+
+    /**
+     * @author agent - October 19th, 2026
+     * @reason Only visit the entries marked as dirty instead of checking
+     * every entry of the entity.
+     *
+     * @return The copies of the dirty entries, or null if there are none
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    @Overwrite
+    public List<EntityDataManager.DataEntry<?>> getDirty() {
+        List<EntityDataManager.DataEntry<?>> list = null;
+
+        if (this.dirty) {
+            final Int2ObjectMap<EntityDataManager.DataEntry<?>> entries = (Int2ObjectMap<EntityDataManager.DataEntry<?>>) (Map<?, ?>) this.entries;
+            this.lock.readLock().lock();
+
+            for (int i = 0; i < this.dirtyIds.length; i++) {
+                long bits = this.dirtyIds[i];
+                this.dirtyIds[i] = 0L;
+
+                while (bits != 0L) {
+                    final int id = (i << 6) | Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    final EntityDataManager.DataEntry<?> dataentry = entries.get(id);
+
+                    if (dataentry != null && dataentry.isDirty()) {
+                        dataentry.setDirty(false);
+
+                        if (list == null) {
+                            list = Lists.newArrayList();
+                        }
+
+                        list.add(dataentry.copy());
+                    }
+                }
+            }
+
+            this.lock.readLock().unlock();
+        }
+
+        this.dirty = false;
+        return list;
+    }
 }
@@ -28,8 +28,10 @@
 import static com.google.common.base.Preconditions.checkState;
 
 import co.aikar.timings.TimingsManager;
+import co.aikar.timings.WorldTimingsHandler;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.minecraft.command.ICommandManager;
 import net.minecraft.command.ICommandSender;
 import net.minecraft.crash.CrashReport;
@@ -52,6 +54,7 @@
 import net.minecraft.world.WorldProvider;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.WorldType;
+import net.minecraft.world.chunk.storage.IChunkLoader;
 import net.minecraft.world.storage.ISaveHandler;
 import org.apache.logging.log4j.Logger;
 import org.spongepowered.api.Server;
@@ -104,6 +107,7 @@
 import org.spongepowered.common.interfaces.IMixinCommandSource;
 import org.spongepowered.common.interfaces.IMixinMinecraftServer;
 import org.spongepowered.common.interfaces.IMixinSubject;
+import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.profile.SpongeProfileManager;
@@ -111,6 +115,7 @@
 import org.spongepowered.common.text.SpongeTexts;
 import org.spongepowered.common.util.VecHelper;
 import org.spongepowered.common.world.WorldManager;
+import org.spongepowered.common.world.lighting.AsyncLightingExecutor;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
 
 import java.net.InetSocketAddress;
@@ -123,8 +128,9 @@
 import java.util.UUID;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.FutureTask;
-import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nullable;
 
@@ -167,6 +173,8 @@ public abstract class MixinMinecraftServer implements Server, ConsoleSource, IMi
     @Nullable private List<String> currentTabCompletionOptions;
     private ResourcePack resourcePack;
     private boolean enableSaving = true;
+    @Nullable private ExecutorService worldSaveExecutor;
+    private boolean worldSaveExecutorInitialized;
     private GameProfileManager profileManager;
     private MessageChannel broadcastChannel = MessageChannel.TO_ALL;
 
@@ -321,19 +329,16 @@ public void onServerStopping(CallbackInfo ci) {
 
         if (this.worlds != null && SpongeImpl.getGlobalConfig().getConfig().getModules().useOptimizations() &&
                 SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useAsyncLighting()) {
-            for (WorldServer world : this.worlds) {
-                ((IMixinWorldServer) world).getLightingExecutor().shutdown();
-            }
+            // The executor is shared by all worlds
+            AsyncLightingExecutor.shutdownInstance();
+        }
+    }
 
-            for (WorldServer world : this.worlds) {
-                try {
-                    ((IMixinWorldServer) world).getLightingExecutor().awaitTermination(1, TimeUnit.SECONDS);
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                } finally {
-                    ((IMixinWorldServer) world).getLightingExecutor().shutdownNow();
-                }
-            }
+    @Inject(method = "stopServer()V", at = @At("RETURN"))
+    private void onServerStopped(CallbackInfo ci) {
+        // Only now, stopping the server saves all worlds
+        if (this.worldSaveExecutor != null) {
+            this.worldSaveExecutor.shutdown();
         }
     }
 
@@ -367,12 +372,49 @@ public void loadAllWorlds(String overworldFolder, String worldName, long seed, W
      */
     @Overwrite
     public void initialWorldChunkLoad() {
-        for (WorldServer worldServer: this.worlds) {
-            this.prepareSpawnArea(worldServer);
+        // Sponge start - read the spawn chunks of all worlds in the background, so they are
+        // already parsed by the time each world prepares its spawn area on the main thread
+        final ExecutorService prefetchExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                new ThreadFactoryBuilder().setNameFormat("Sponge - Spawn Prefetch Thread #%d").setDaemon(true).build());
+        try {
+            for (WorldServer worldServer: this.worlds) {
+                this.prefetchSpawnArea(worldServer, prefetchExecutor);
+            }
+            for (WorldServer worldServer: this.worlds) {
+                this.prepareSpawnArea(worldServer);
+            }
+        } finally {
+            prefetchExecutor.shutdownNow();
+            for (WorldServer worldServer: this.worlds) {
+                final IChunkLoader chunkLoader = ((IMixinChunkProviderServer) worldServer.getChunkProvider()).getChunkLoader();
+                if (chunkLoader instanceof IMixinAnvilChunkLoader) {
+                    ((IMixinAnvilChunkLoader) chunkLoader).clearPrefetchedChunks();
+                }
+            }
         }
+        // Sponge end
         this.clearCurrentTask();
     }
 
+    private void prefetchSpawnArea(WorldServer worldServer, ExecutorService executor) {
+        if (!((WorldProperties) worldServer.getWorldInfo()).doesGenerateSpawnOnLoad()) {
+            return;
+        }
+        final IChunkLoader chunkLoader = ((IMixinChunkProviderServer) worldServer.getChunkProvider()).getChunkLoader();
+        if (!(chunkLoader instanceof IMixinAnvilChunkLoader)) {
+            return;
+        }
+        final BlockPos blockpos = worldServer.getSpawnPoint();
+        // Same order as prepareSpawnArea, so the first chunks it needs are read first
+        for (int k = -192; k <= 192; k += 16) {
+            for (int l = -192; l <= 192; l += 16) {
+                final int x = blockpos.getX() + k >> 4;
+                final int z = blockpos.getZ() + l >> 4;
+                executor.execute(() -> ((IMixinAnvilChunkLoader) chunkLoader).prefetchChunk(x, z));
+            }
+        }
+    }
+
     @Override
     public void prepareSpawnArea(WorldServer worldServer) {
         if (!((WorldProperties) worldServer.getWorldInfo()).doesGenerateSpawnOnLoad()) {
@@ -746,13 +788,37 @@ public void saveAllWorlds(boolean dontLog) {
                             + worldserver.provider.getDimensionType().getName());
                 }
                 // Sponge end
+                final WorldTimingsHandler timings = ((IMixinWorldServer) worldserver).getTimingsHandler();
+                timings.worldSave.startTiming();
                 try {
                     WorldManager.saveWorld(worldserver, false);
                 } catch (MinecraftException ex) {
                     ex.printStackTrace();
+                } finally {
+                    timings.worldSave.stopTiming();
                 }
+                // Sponge start - compress the queued chunks while the next world is saved
+                final ExecutorService executor = this.getWorldSaveExecutor();
+                final IChunkLoader chunkLoader = ((IMixinChunkProviderServer) worldserver.getChunkProvider()).getChunkLoader();
+                if (executor != null && chunkLoader instanceof IMixinAnvilChunkLoader) {
+                    executor.execute(((IMixinAnvilChunkLoader) chunkLoader)::precompressPendingChunks);
+                }
+                // Sponge end
+            }
+        }
+    }
+
+    @Nullable
+    private ExecutorService getWorldSaveExecutor() {
+        if (!this.worldSaveExecutorInitialized) {
+            this.worldSaveExecutorInitialized = true;
+            final int threads = SpongeImpl.getGlobalConfig().getConfig().getWorld().getWorldSaveThreads();
+            if (threads > 0) {
+                this.worldSaveExecutor = Executors.newFixedThreadPool(threads,
+                        new ThreadFactoryBuilder().setNameFormat("Sponge - World Save Thread #%d").setDaemon(true).build());
             }
         }
+        return this.worldSaveExecutor;
     }
 
     @Override
@@ -67,7 +67,6 @@
 import org.spongepowered.api.entity.EntityType;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.event.SpongeEventFactory;
-import org.spongepowered.api.event.entity.CollideEntityEvent;
 import org.spongepowered.api.item.inventory.ItemStack;
 import org.spongepowered.api.profile.GameProfile;
 import org.spongepowered.api.util.AABB;
@@ -95,7 +94,6 @@
 import org.spongepowered.common.block.BlockUtil;
 import org.spongepowered.common.entity.PlayerTracker;
 import org.spongepowered.common.event.InternalNamedCauses;
-import org.spongepowered.common.event.SpongeCommonEventFactory;
 import org.spongepowered.common.event.tracking.CauseTracker;
 import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.event.tracking.PhaseData;
@@ -138,7 +136,6 @@ public abstract class MixinChunk implements Chunk, IMixinChunk, IMixinCachable {
     private UUID uuid;
     private long scheduledForUnload = -1; // delay chunk unloads
     private boolean persistedChunk = false;
-    private boolean isSpawning = false;
     private net.minecraft.world.chunk.Chunk[] neighbors = new net.minecraft.world.chunk.Chunk[4];
     private long cacheKey;
     private static final Direction[] CARDINAL_DIRECTIONS = new Direction[] {Direction.NORTH, Direction.SOUTH, Direction.EAST, Direction.WEST};
@@ -230,16 +227,6 @@ public void setPersistedChunk(boolean flag) {
         }
     }
 
-    @Override
-    public boolean isSpawning() {
-        return this.isSpawning;
-    }
-
-    @Override
-    public void setIsSpawning(boolean spawning) {
-        this.isSpawning = spawning;
-    }
-
     @Inject(method = "addEntity", at = @At("RETURN"))
     private void onChunkAddEntity(Entity entityIn, CallbackInfo ci) {
         if (!entityIn.isDead) {
@@ -545,52 +532,6 @@ public MutableBlockVolumeWorker<Chunk> getBlockWorker() {
         return new SpongeMutableBlockVolumeWorker<>(this);
     }
 
-    @Inject(method = "getEntitiesWithinAABBForEntity", at = @At(value = "RETURN"))
-    public void onGetEntitiesWithinAABBForEntity(Entity entityIn, AxisAlignedBB aabb, List<Entity> listToFill, Predicate<Entity> p_177414_4_,
-            CallbackInfo ci) {
-        if (this.world.isRemote || CauseTracker.getInstance().getCurrentPhaseData().state.ignoresEntityCollisions()) {
-            return;
-        }
-
-        if (listToFill.size() == 0) {
-            return;
-        }
-
-        CollideEntityEvent event = SpongeCommonEventFactory.callCollideEntityEvent(this.world, entityIn, listToFill);
-        final PhaseData peek = CauseTracker.getInstance().getCurrentPhaseData();
-
-        if (event == null || event.isCancelled()) {
-            if (event == null && !peek.state.getPhase().isTicking(peek.state)) {
-                return;
-            }
-            listToFill.clear();
-        }
-    }
-
-    @SuppressWarnings({"unchecked", "rawtypes"})
-    @Inject(method = "getEntitiesOfTypeWithinAABB", at = @At(value = "RETURN"))
-    public void onGetEntitiesOfTypeWithinAAAB(Class<? extends Entity> entityClass, AxisAlignedBB aabb, List listToFill, Predicate<Entity> p_177430_4_,
-            CallbackInfo ci) {
-        if (this.world.isRemote || CauseTracker.getInstance().getCurrentPhaseData().state.ignoresEntityCollisions()) {
-            return;
-        }
-
-        if (listToFill.size() == 0) {
-            return;
-        }
-
-        CollideEntityEvent event = SpongeCommonEventFactory.callCollideEntityEvent(this.world, null, listToFill);
-        final PhaseData peek = CauseTracker.getInstance().getCurrentPhaseData();
-
-        if (event == null || event.isCancelled()) {
-            if (event == null && !peek.state.getPhase().isTicking(peek.state)) {
-                return;
-            }
-            listToFill.clear();
-        }
-    }
-
-
     /**
      * @author blood
      * @reason cause tracking
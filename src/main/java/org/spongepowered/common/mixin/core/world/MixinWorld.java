@@ -90,6 +90,7 @@
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.entity.projectile.EnderPearl;
 import org.spongepowered.api.entity.projectile.source.ProjectileSource;
+import org.spongepowered.api.event.entity.CollideEntityEvent;
 import org.spongepowered.api.service.context.Context;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.chat.ChatType;
@@ -127,8 +128,11 @@
 import org.spongepowered.common.data.type.SpongeTileEntityType;
 import org.spongepowered.common.entity.EntityUtil;
 import org.spongepowered.common.event.InternalNamedCauses;
+import org.spongepowered.common.event.ShouldFire;
+import org.spongepowered.common.event.SpongeCommonEventFactory;
 import org.spongepowered.common.event.tracking.CauseTracker;
 import org.spongepowered.common.event.tracking.PhaseContext;
+import org.spongepowered.common.event.tracking.PhaseData;
 import org.spongepowered.common.event.tracking.phase.general.GeneralPhase;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.data.IMixinCustomDataHolder;
@@ -254,6 +258,8 @@ public abstract class MixinWorld implements World, IMixinWorld {
     @Shadow public abstract <T extends net.minecraft.entity.Entity> List<T> getEntitiesWithinAABB(Class <? extends T > clazz, AxisAlignedBB aabb,
             com.google.common.base.Predicate<? super T > filter);
     @Shadow public abstract List<net.minecraft.entity.Entity> getEntitiesWithinAABBExcludingEntity(net.minecraft.entity.Entity entityIn, AxisAlignedBB bb);
+    @Shadow public abstract List<net.minecraft.entity.Entity> getEntitiesInAABBexcluding(@Nullable net.minecraft.entity.Entity entityIn,
+            AxisAlignedBB boundingBox, @Nullable com.google.common.base.Predicate<? super net.minecraft.entity.Entity> predicate);
     @Shadow public abstract MinecraftServer getMinecraftServer();
     // Methods needed for MixinWorldServer & Tracking
     @Shadow public abstract boolean spawnEntity(net.minecraft.entity.Entity entity); // This is overridden in MixinWorldServer
@@ -321,6 +327,52 @@ public void onGetCollisionBoxes(net.minecraft.entity.Entity entity, AxisAlignedB
         }
     }
 
+    // Collisions are checked once for a whole world query, the chunk queries of a world query fill the same list
+
+    @Inject(method = "getEntitiesInAABBexcluding", at = @At("RETURN"))
+    public void onGetEntitiesInAABBexcluding(@Nullable net.minecraft.entity.Entity entityIn, AxisAlignedBB boundingBox,
+            @Nullable com.google.common.base.Predicate<? super net.minecraft.entity.Entity> predicate,
+            CallbackInfoReturnable<List<net.minecraft.entity.Entity>> cir) {
+        this.throwCollideEntityEvent(entityIn, cir.getReturnValue());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Inject(method = "getEntitiesWithinAABB(Ljava/lang/Class;Lnet/minecraft/util/math/AxisAlignedBB;Lcom/google/common/base/Predicate;)Ljava/util/List;",
+            at = @At("RETURN"))
+    public void onGetEntitiesWithinAABB(Class<?> entityClass, AxisAlignedBB boundingBox, @Nullable com.google.common.base.Predicate<?> filter,
+            CallbackInfoReturnable<List<? extends net.minecraft.entity.Entity>> cir) {
+        this.throwCollideEntityEvent(null, (List<net.minecraft.entity.Entity>) cir.getReturnValue());
+    }
+
+    protected void throwCollideEntityEvent(@Nullable net.minecraft.entity.Entity sourceEntity, List<net.minecraft.entity.Entity> entities) {
+        if (this.isRemote || entities.isEmpty()) {
+            return;
+        }
+        final PhaseData peek = CauseTracker.getInstance().getCurrentPhaseData();
+        if (peek.state.ignoresEntityCollisions()) {
+            return;
+        }
+        if (!ShouldFire.COLLIDE_ENTITY_EVENT) {
+            // Skip building the cause and event without listeners, but still clear the result
+            // of a ticking phase without a source, the same as when the event isn't thrown
+            if (sourceEntity == null && peek.state.getPhase().isTicking(peek.state)
+                    && !SpongeCommonEventFactory.hasCollideEntitySource(peek.context)) {
+                entities.clear();
+            }
+            return;
+        }
+
+        final CollideEntityEvent event = SpongeCommonEventFactory.callCollideEntityEvent((net.minecraft.world.World) (Object) this, sourceEntity,
+                entities);
+
+        if (event == null || event.isCancelled()) {
+            if (event == null && !peek.state.getPhase().isTicking(peek.state)) {
+                return;
+            }
+            entities.clear();
+        }
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public Collection<Player> getPlayers() {
@@ -25,6 +25,8 @@
 package org.spongepowered.common.mixin.core.world;
 
 import com.flowpowered.math.vector.Vector3d;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntMaps;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.EntitySpawnPlacementRegistry;
@@ -60,10 +62,11 @@
 import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.event.tracking.phase.generation.GenerationPhase;
 import org.spongepowered.common.interfaces.IMixinChunk;
-import org.spongepowered.common.interfaces.entity.player.IMixinEntityPlayer;
+import org.spongepowered.common.interfaces.world.IMixinWorldEntitySpawner;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.registry.type.entity.EntityTypeRegistryModule;
+import org.spongepowered.common.world.SpawnChunkTracker;
 
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -73,7 +76,7 @@
 import javax.annotation.Nullable;
 
 @Mixin(WorldEntitySpawner.class)
-public abstract class MixinWorldEntitySpawner {
+public abstract class MixinWorldEntitySpawner implements IMixinWorldEntitySpawner {
 
     private static final String BIOME_CAN_SPAWN_ANIMAL =
         "Lnet/minecraft/world/WorldEntitySpawner;canCreatureTypeSpawnAtLocation(Lnet/minecraft/entity/EntityLiving$SpawnPlacementType;"
@@ -84,6 +87,13 @@ public abstract class MixinWorldEntitySpawner {
     @Nullable
     private static EntityType spawnerEntityType;
     private List<Chunk> eligibleSpawnChunks = new ArrayList<>();
+    private final SpawnChunkTracker spawnChunkTracker = new SpawnChunkTracker();
+
+    @Override
+    public void onPlayerRemoved(EntityPlayer player) {
+        // Spawning may not run again for a while, don't keep the player around until then
+        this.spawnChunkTracker.remove(player);
+    }
 
     /**
      * @author blood - February 18th, 2017
@@ -98,15 +108,11 @@ public abstract class MixinWorldEntitySpawner {
     @Overwrite
     public int findChunksForSpawning(WorldServer worldServerIn, boolean spawnHostileMobs, boolean spawnPeacefulMobs, boolean spawnOnSetTickRate) {
         if (!spawnHostileMobs && !spawnPeacefulMobs) {
+            this.spawnChunkTracker.clear();
             return 0;
         }
 
-        Iterator<Chunk> chunkIterator = this.eligibleSpawnChunks.iterator();
-        while (chunkIterator.hasNext()) {
-            Chunk chunk = chunkIterator.next();
-            ((IMixinChunk) chunk).setIsSpawning(false);
-            chunkIterator.remove();
-        }
+        this.eligibleSpawnChunks.clear();
 
         IMixinWorldServer spongeWorld = ((IMixinWorldServer) worldServerIn);
         if (CauseTracker.ENABLED) {
@@ -125,35 +131,25 @@ public int findChunksForSpawning(WorldServer worldServerIn, boolean spawnHostile
         // mob spawn range set by server.
         final int MOB_SPAWN_COUNT_DIV = (2 * mobSpawnRange + 1)*(2 * mobSpawnRange + 1);
 
-        for (EntityPlayer entityplayer : worldServerIn.playerEntities) {
-            // We treat players who do not affect spawning as "spectators"
-            if (!((IMixinEntityPlayer) entityplayer).affectsSpawning() || entityplayer.isSpectator()) {
+        // Only players that moved to another chunk need their spawn range updated
+        this.spawnChunkTracker.update(worldServerIn.playerEntities, mobSpawnRange);
+        for (Long2IntMap.Entry entry : Long2IntMaps.fastIterable(this.spawnChunkTracker.getCoveredChunks())) {
+            final long chunkKey = entry.getLongKey();
+            final Chunk chunk = ((IMixinChunkProviderServer) worldServerIn.getChunkProvider()).getLoadedChunkWithoutMarkingActive((int) chunkKey,
+                    (int) (chunkKey >> 32));
+            if (chunk == null || (chunk.unloadQueued && !((IMixinChunk) chunk).isPersistedChunk())) {
+                // Don't attempt to spawn in an unloaded chunk
                 continue;
             }
 
-            int playerPosX = MathHelper.floor(entityplayer.posX / 16.0D);
-            int playerPosZ = MathHelper.floor(entityplayer.posZ / 16.0D);
-
-            for (int i = -mobSpawnRange; i <= mobSpawnRange; ++i) {
-                for (int j = -mobSpawnRange; j <= mobSpawnRange; ++j) {
-                    boolean flag = i == -mobSpawnRange || i == mobSpawnRange || j == -mobSpawnRange || j == mobSpawnRange;
-                    final Chunk chunk = ((IMixinChunkProviderServer) worldServerIn.getChunkProvider()).getLoadedChunkWithoutMarkingActive(i + playerPosX, j + playerPosZ);
-                    if (chunk == null || (chunk.unloadQueued && !((IMixinChunk) chunk).isPersistedChunk())) {
-                        // Don't attempt to spawn in an unloaded chunk
-                        continue;
-                    }
-
-                    final IMixinChunk spongeChunk = (IMixinChunk) chunk;
-                    ++chunkSpawnCandidates;
-                    final ChunkPos chunkPos = chunk.getPos();
-                    if (!flag && worldServerIn.getWorldBorder().contains(chunkPos)) {
-                        PlayerChunkMapEntry playerchunkmapentry = worldServerIn.getPlayerChunkMap().getEntry(chunkPos.x, chunkPos.z);
+            // Counted once for every player in range
+            chunkSpawnCandidates += entry.getIntValue();
+            final ChunkPos chunkPos = chunk.getPos();
+            if (this.spawnChunkTracker.isInnerChunk(chunkKey) && worldServerIn.getWorldBorder().contains(chunkPos)) {
+                PlayerChunkMapEntry playerchunkmapentry = worldServerIn.getPlayerChunkMap().getEntry(chunkPos.x, chunkPos.z);
 
-                        if (playerchunkmapentry != null && playerchunkmapentry.isSentToPlayers() && !spongeChunk.isSpawning()) {
-                            this.eligibleSpawnChunks.add(chunk);
-                            spongeChunk.setIsSpawning(true);
-                        }
-                    }
+                if (playerchunkmapentry != null && playerchunkmapentry.isSentToPlayers()) {
+                    this.eligibleSpawnChunks.add(chunk);
                 }
             }
         }
@@ -200,7 +196,7 @@ public int findChunksForSpawning(WorldServer worldServerIn, boolean spawnHostile
                     continue labelOuterLoop;
                 }
 
-                chunkIterator = this.eligibleSpawnChunks.iterator();
+                final Iterator<Chunk> chunkIterator = this.eligibleSpawnChunks.iterator();
                 int mobLimit = maxCount - entityCount + 1;
                 labelChunkStart:
                 while (chunkIterator.hasNext() && mobLimit > 0) {
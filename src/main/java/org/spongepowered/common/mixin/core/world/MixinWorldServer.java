@@ -70,6 +70,7 @@
 import net.minecraft.world.NextTickListEntry;
 import net.minecraft.world.Teleporter;
 import net.minecraft.world.World;
+import net.minecraft.world.WorldEntitySpawner;
 import net.minecraft.world.WorldProvider;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.WorldSettings;
@@ -175,6 +176,7 @@
 import org.spongepowered.common.interfaces.server.management.IMixinPlayerChunkMap;
 import org.spongepowered.common.interfaces.util.math.IMixinBlockPos;
 import org.spongepowered.common.interfaces.world.IMixinServerWorldEventHandler;
+import org.spongepowered.common.interfaces.world.IMixinWorldEntitySpawner;
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
 import org.spongepowered.common.interfaces.world.IMixinWorldProvider;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
@@ -185,6 +187,7 @@
 import org.spongepowered.common.registry.provider.DirectionFacingProvider;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.EntityTickBudget;
 import org.spongepowered.common.world.WorldManager;
 import org.spongepowered.common.world.border.PlayerBorderListener;
 import org.spongepowered.common.world.gen.SpongeChunkGenerator;
@@ -224,6 +227,7 @@ public abstract class MixinWorldServer extends MixinWorld implements IMixinWorld
     private static final EnumSet<EnumFacing> NOTIFY_DIRECTIONS = EnumSet.of(EnumFacing.WEST, EnumFacing.EAST, EnumFacing.DOWN, EnumFacing.UP, EnumFacing.NORTH, EnumFacing.SOUTH);
 
     private final Map<net.minecraft.entity.Entity, Vector3d> rotationUpdates = new HashMap<>();
+    private final EntityTickBudget entityTickBudget = new EntityTickBudget((WorldServer) (Object) this);
     private SpongeChunkGenerator spongegen;
     private SpongeConfig<?> activeConfig;
     protected long weatherStartTime;
@@ -245,6 +249,7 @@ public abstract class MixinWorldServer extends MixinWorld implements IMixinWorld
     @Shadow @Final private WorldServer.ServerBlockEventList[] blockEventQueue;
     @Shadow private int blockEventCacheIndex;
     @Shadow private int updateEntityTick;
+    @Shadow @Final private WorldEntitySpawner entitySpawner;
 
     @Shadow public abstract boolean fireBlockEvent(BlockEventData event);
     @Shadow protected abstract void createBonusChest();
@@ -1429,6 +1434,13 @@ private void updateTileEntity(ITickable tile) {
 
     @Override
     protected void onCallEntityUpdate(net.minecraft.entity.Entity entity) {
+        if (!this.entityTickBudget.tryTick(entity)) {
+            // Deferred to a later tick, only advance what entities outside of activation range do
+            if (entity instanceof IModData_Activation) {
+                ((IModData_Activation) entity).inactiveTick();
+            }
+            return;
+        }
         final CauseTracker causeTracker = CauseTracker.getInstance();
         final IPhaseState state = causeTracker.getCurrentState();
         if (!CauseTracker.ENABLED || state.getPhase().alreadyCapturingEntityTicks(state)) {
@@ -1499,6 +1511,13 @@ public void updateRotation(net.minecraft.entity.Entity entityIn) {
         this.rotationUpdates.remove(entityIn);
     }
 
+    @Inject(method = "onEntityRemoved", at = @At("RETURN"))
+    private void onEntityRemovedForgetSpawnRange(net.minecraft.entity.Entity entityIn, CallbackInfo ci) {
+        if (entityIn instanceof EntityPlayer) {
+            ((IMixinWorldEntitySpawner) this.entitySpawner).onPlayerRemoved((EntityPlayer) entityIn);
+        }
+    }
+
     @Override
     public void onSpongeEntityAdded(net.minecraft.entity.Entity entity) {
         this.onEntityAdded(entity);
@@ -29,13 +29,17 @@
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityList;
 import net.minecraft.entity.item.EntityMinecart;
+import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.datafix.DataFixer;
+import net.minecraft.util.datafix.FixTypes;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
 import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.chunk.storage.AnvilChunkLoader;
+import net.minecraft.world.chunk.storage.RegionFile;
 import net.minecraft.world.chunk.storage.RegionFileCache;
 import net.minecraft.world.storage.ThreadedFileIOBase;
 import org.apache.logging.log4j.Logger;
@@ -62,18 +66,32 @@
 import org.spongepowered.asm.mixin.injection.callback.LocalCapture;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeImplHooks;
+import org.spongepowered.common.config.category.WorldCategory;
 import org.spongepowered.common.data.util.NbtDataUtil;
 import org.spongepowered.common.entity.PlayerTracker;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
+import org.spongepowered.common.interfaces.world.IMixinRegionFile;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.registry.type.entity.EntityTypeRegistryModule;
 import org.spongepowered.common.util.QueuedChunk;
+import org.spongepowered.common.world.storage.ChunkCompression;
+import org.spongepowered.common.world.storage.ColdChunkCache;
+import org.spongepowered.common.world.storage.PrecompressedChunk;
+import org.spongepowered.common.world.storage.RegionExistenceIndex;
+import org.spongepowered.common.world.storage.StripedChunkWriter;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.zip.Deflater;
 
 @Mixin(AnvilChunkLoader.class)
 @Implements(@Interface(iface = IMixinAnvilChunkLoader.class, prefix = "loader$"))
@@ -89,10 +107,78 @@ public abstract class MixinAnvilChunkLoader implements IMixinAnvilChunkLoader {
     @Shadow @Final private Map<ChunkPos, NBTTagCompound> chunksToRemove;
     @Shadow @Final private File chunkSaveLocation;
     @Shadow private boolean flushing;
+    @Shadow @Final private DataFixer fixer;
 
     @Shadow
     public abstract void writeChunkData(ChunkPos pos, NBTTagCompound compound);
 
+    private volatile ChunkCompression compression = ChunkCompression.DEFLATE;
+    private volatile int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+    private final ColdChunkCache coldChunkCache = new ColdChunkCache();
+    // Chunks saved because they are being unloaded, moved to the cold cache once written
+    private final Set<ChunkPos> unloadingChunks = ConcurrentHashMap.newKeySet();
+    private RegionExistenceIndex existenceIndex;
+    // Chunks read ahead of being loaded, see prefetchChunk
+    private static final int MAX_PREFETCHED_CHUNKS = 25 * 25;
+    private final Map<ChunkPos, NBTTagCompound> prefetchedChunks = new ConcurrentHashMap<>();
+    private final Set<ChunkPos> prefetchingChunks = ConcurrentHashMap.newKeySet();
+    private boolean prefetchClosed;
+    // Queued chunks compressed ahead of their write, see precompressPendingChunks
+    private final Map<ChunkPos, PrecompressedChunk> precompressedChunks = new ConcurrentHashMap<>();
+
+    @Inject(method = "<init>", at = @At("RETURN"))
+    private void onConstruct(File chunkSaveLocationIn, DataFixer dataFixerIn, CallbackInfo ci) {
+        this.existenceIndex = new RegionExistenceIndex(chunkSaveLocationIn.toPath());
+    }
+
+    @Inject(method = "saveChunk", at = @At("HEAD"))
+    private void onSaveChunk(World world, Chunk chunk, CallbackInfo ci) {
+        // Refreshed on every save so config reloads are picked up
+        final WorldCategory config = ((IMixinWorldServer) world).getActiveConfig().getConfig().getWorld();
+        this.compression = config.getChunkCompression();
+        this.compressionLevel = config.getChunkCompressionLevel();
+        this.coldChunkCache.setLimits(config.getColdChunkCacheSize() * 1024L * 1024L, config.getColdChunkCacheExpiry() * 1000L);
+        if (chunk.unloadQueued && this.coldChunkCache.isEnabled()) {
+            this.unloadingChunks.add(chunk.getPos());
+        } else {
+            // Saved again while loaded, this version must not be cached
+            this.unloadingChunks.remove(chunk.getPos());
+        }
+    }
+
+    // Forge moves the read into loadChunk__Async
+    @Redirect(method = {"loadChunk", "loadChunk__Async"}, at = @At(value = "INVOKE", target = "Ljava/util/Map;get(Ljava/lang/Object;)Ljava/lang/Object;"), require = 1)
+    private Object onGetPendingChunk(Map<ChunkPos, NBTTagCompound> chunksToRemove, Object pos) {
+        // Loaded again before its unload save was written, it must not be cached
+        this.unloadingChunks.remove(pos);
+        final NBTTagCompound pending = chunksToRemove.get(pos);
+        if (pending != null || this.prefetchedChunks.isEmpty()) {
+            return pending;
+        }
+        return this.prefetchedChunks.remove(pos);
+    }
+
+    // Forge moves the read into loadChunk__Async
+    @Redirect(method = {"loadChunk", "loadChunk__Async"}, at = @At(value = "INVOKE", target = "Lnet/minecraft/world/chunk/storage/RegionFileCache;getChunkInputStream(Ljava/io/File;II)Ljava/io/DataInputStream;"), require = 1)
+    private DataInputStream onGetChunkInputStream(File worldDir, int chunkX, int chunkZ) {
+        final DataInputStream cached = this.coldChunkCache.remove(ChunkPos.asLong(chunkX, chunkZ));
+        if (cached != null) {
+            return cached;
+        }
+        return RegionFileCache.getChunkInputStream(worldDir, chunkX, chunkZ);
+    }
+
+    @Redirect(method = "writeChunkData", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/chunk/storage/RegionFileCache;getChunkOutputStream(Ljava/io/File;II)Ljava/io/DataOutputStream;"))
+    private DataOutputStream onGetChunkOutputStream(File worldDir, int chunkX, int chunkZ) throws IOException {
+        final ChunkCompression compression = this.compression;
+        final int level = this.compressionLevel;
+        if (compression == ChunkCompression.DEFLATE && level == Deflater.DEFAULT_COMPRESSION) {
+            return RegionFileCache.getChunkOutputStream(worldDir, chunkX, chunkZ);
+        }
+        final RegionFile regionFile = RegionFileCache.createOrLoadRegionFile(worldDir, chunkX, chunkZ);
+        return ((IMixinRegionFile) regionFile).getChunkDataOutputStream(chunkX & 31, chunkZ & 31, compression, level);
+    }
+
     @Inject(method = "writeChunkToNBT", at = @At(value = "RETURN"))
     public void onWriteChunkToNBT(net.minecraft.world.chunk.Chunk chunkIn, World worldIn, NBTTagCompound compound, CallbackInfo ci) {
         IMixinChunk chunk = (IMixinChunk) chunkIn;
@@ -221,7 +307,8 @@ private static Entity onReadChunkEntity(NBTTagCompound compound, World world, Ch
         }
         // Sponge end
 
-        return RegionFileCache.getChunkInputStream(this.chunkSaveLocation, x, z) != null;
+        // Sponge - answer from the region header index instead of reading the chunk
+        return this.existenceIndex.exists(x, z);
     }
 
     /**
@@ -235,12 +322,35 @@ private static Entity onReadChunkEntity(NBTTagCompound compound, World world, Ch
     protected void addChunkToPending(ChunkPos pos, NBTTagCompound compound) {
         synchronized (this.lock) {
             this.chunksToRemove.put(pos, compound);
+            // Sponge - a chunk read ahead is older than the one being saved
+            this.prefetchingChunks.remove(pos);
+            this.prefetchedChunks.remove(pos);
         }
+        // The cached copy is older than the one being saved
+        this.coldChunkCache.invalidate(ChunkPos.asLong(pos.x, pos.z));
+
+        // Sponge start - save on the region file's stripe if enabled
+        final StripedChunkWriter writer = StripedChunkWriter.getInstance();
+        if (writer != null) {
+            final QueuedChunk chunk = new QueuedChunk(pos, compound);
+            writer.submit(this.chunkSaveLocation, pos, () -> this.writeQueuedChunk(chunk));
+            return;
+        }
+        // Sponge end
+
         this.queue.add(new QueuedChunk(pos, compound));
 
         ThreadedFileIOBase.getThreadedIOInstance().queueIO((AnvilChunkLoader) (Object) this);
     }
 
+    @Inject(method = "flush", at = @At("HEAD"))
+    private void onFlush(CallbackInfo ci) {
+        final StripedChunkWriter writer = StripedChunkWriter.getInstance();
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
     /**
      * @author aikar - February 19th, 2017
      * @reason Refactor entire method for chunk queue improvements.
@@ -255,52 +365,130 @@ public boolean writeNextIO() {
             }
 
             return false;
-        } else {
-            ChunkPos chunkpos = chunk.coords;
-            boolean lvt_3_1_;
+        }
 
-            try {
-                // this.field_193415_c.add(chunkpos);
-                NBTTagCompound nbttagcompound = chunk.compound;
-
-                if (nbttagcompound != null) {
-                    int attempts = 0;
-                    Exception laste = null;
-                    while (attempts++ < 5) {
-                        try {
-                            this.writeChunkData(chunkpos, nbttagcompound);
-                            laste = null;
-                            break;
-                        } catch (Exception exception) {
-                            // LOGGER.error((String)"Failed to save chunk",
-                            // (Throwable)exception);
-                            laste = exception;
-                        }
-                        try {
-                            Thread.sleep(10);
-                        } catch (InterruptedException e) {
-                            e.printStackTrace();
-                        }
-                    }
-                    if (laste != null) {
-                        laste.printStackTrace();
-                    }
+        this.writeQueuedChunk(chunk);
+        return true;
+    }
+
+    private void writeQueuedChunk(QueuedChunk chunk) {
+        ChunkPos chunkpos = chunk.coords;
+        NBTTagCompound nbttagcompound = chunk.compound;
+
+        // Sponge - the data written to the region file, see writeChunk
+        PrecompressedChunk written = null;
+        if (nbttagcompound != null) {
+            int attempts = 0;
+            Exception laste = null;
+            while (attempts++ < 5) {
+                try {
+                    written = this.writeChunk(chunkpos, nbttagcompound);
+                    laste = null;
+                    break;
+                } catch (Exception exception) {
+                    // LOGGER.error((String)"Failed to save chunk",
+                    // (Throwable)exception);
+                    laste = exception;
+                }
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    e.printStackTrace();
                 }
+            }
+            if (laste != null) {
+                laste.printStackTrace();
+            } else {
+                this.existenceIndex.markWritten(chunkpos.x, chunkpos.z);
+            }
+        }
 
-                synchronized (this.lock) {
-                    if (this.chunksToRemove.get(chunkpos) == nbttagcompound) {
-                        this.chunksToRemove.remove(chunkpos);
-                    }
+        // Sponge start - keep unloaded chunks around in the cold cache, as the data just
+        // written to the region file. Copied outside of the lock, the buffer is larger
+        byte[] coldData = null;
+        if (written != null && this.unloadingChunks.contains(chunkpos) && this.chunksToRemove.get(chunkpos) == nbttagcompound) {
+            coldData = Arrays.copyOf(written.getData(), written.getLength());
+        }
+        // Sponge end
+
+        synchronized (this.lock) {
+            // Sponge - drop the precompressed data of this version, whether it was used or not
+            final PrecompressedChunk precompressed = this.precompressedChunks.get(chunkpos);
+            if (precompressed != null && precompressed.isOf(nbttagcompound)) {
+                this.precompressedChunks.remove(chunkpos);
+            }
+            if (this.chunksToRemove.get(chunkpos) == nbttagcompound) {
+                // Sponge - cache before removing, so a load always finds one of them
+                this.unloadingChunks.remove(chunkpos);
+                if (coldData != null) {
+                    this.coldChunkCache.put(ChunkPos.asLong(chunkpos.x, chunkpos.z), coldData, written.getCompression());
                 }
-                // Sponge - This will not equal if a newer version is still
-                // pending
-                lvt_3_1_ = true;
-            } finally {
-                // this.field_193415_c.remove(chunkpos);
+                this.chunksToRemove.remove(chunkpos);
             }
+        }
+        // Sponge - This will not equal if a newer version is still
+        // pending
+    }
 
-            return lvt_3_1_;
+    /**
+     * Writes the given chunk to its region file, compressed by a precompress
+     * worker or, if none got to it, by the calling thread.
+     *
+     * @param pos The chunk position
+     * @param compound The queued chunk compound
+     * @return The compressed data that was written
+     * @throws IOException If the chunk could not be compressed
+     */
+    private PrecompressedChunk writeChunk(ChunkPos pos, NBTTagCompound compound) throws IOException {
+        PrecompressedChunk precompressed;
+        boolean claimed = false;
+        synchronized (this.lock) {
+            precompressed = this.precompressedChunks.get(pos);
+            if (precompressed == null || !precompressed.isOf(compound)) {
+                // Compressed below, keep the precompress workers from doing it as well
+                precompressed = PrecompressedChunk.pending(compound);
+                this.precompressedChunks.put(pos, precompressed);
+                claimed = true;
+            }
         }
+        // Otherwise waits for a precompression that's still in progress
+        if (claimed || !precompressed.await()) {
+            if (!claimed) {
+                precompressed = PrecompressedChunk.pending(compound);
+            }
+            precompressed.compress(this.compression, this.compressionLevel);
+        }
+        final RegionFile regionFile = RegionFileCache.createOrLoadRegionFile(this.chunkSaveLocation, pos.x, pos.z);
+        ((IMixinRegionFile) regionFile).writeChunk(pos.x & 31, pos.z & 31, precompressed.getData(), precompressed.getLength(),
+                precompressed.getCompression());
+        return precompressed;
+    }
+
+    @Override
+    public int precompressPendingChunks() {
+        final ChunkCompression compression = this.compression;
+        final int level = this.compressionLevel;
+        int count = 0;
+        for (Map.Entry<ChunkPos, NBTTagCompound> entry : this.chunksToRemove.entrySet()) {
+            final ChunkPos pos = entry.getKey();
+            final NBTTagCompound compound = entry.getValue();
+            final PrecompressedChunk precompressed = PrecompressedChunk.pending(compound);
+            synchronized (this.lock) {
+                // Skip chunks already written, or claimed by another worker or the file IO thread
+                final PrecompressedChunk existing = this.precompressedChunks.get(pos);
+                if (this.chunksToRemove.get(pos) != compound || existing != null && existing.isOf(compound)) {
+                    continue;
+                }
+                this.precompressedChunks.put(pos, precompressed);
+            }
+            try {
+                precompressed.compress(compression, level);
+                count++;
+            } catch (IOException e) {
+                // Compressed again when written
+            }
+        }
+        return count;
     }
 
     @Override
@@ -308,4 +496,61 @@ public Path getWorldDir() {
         return this.chunkSaveLocation.toPath();
     }
 
+    @Override
+    public void prefetchChunk(int x, int z) {
+        if (!this.existenceIndex.exists(x, z)) {
+            return;
+        }
+        final ChunkPos pos = new ChunkPos(x, z);
+        synchronized (this.lock) {
+            // Registered along with the check, so a save in between drops the read
+            if (this.prefetchClosed || this.chunksToRemove.containsKey(pos) || this.prefetchedChunks.containsKey(pos)
+                    || this.prefetchedChunks.size() + this.prefetchingChunks.size() >= MAX_PREFETCHED_CHUNKS
+                    || !this.prefetchingChunks.add(pos)) {
+                return;
+            }
+        }
+        try {
+            final DataInputStream stream = RegionFileCache.getChunkInputStream(this.chunkSaveLocation, x, z);
+            if (stream == null) {
+                return;
+            }
+            final NBTTagCompound compound = this.fixer.process(FixTypes.CHUNK, CompressedStreamTools.read(stream));
+            synchronized (this.lock) {
+                // Only keep it if the chunk hasn't been saved in the meantime
+                if (this.prefetchingChunks.contains(pos) && !this.prefetchClosed) {
+                    this.prefetchedChunks.put(pos, compound);
+                }
+            }
+        } catch (IOException e) {
+            // Read again when the chunk is actually loaded
+        } finally {
+            this.prefetchingChunks.remove(pos);
+        }
+    }
+
+    @Override
+    public void clearPrefetchedChunks() {
+        synchronized (this.lock) {
+            // Reads still in flight are dropped as well
+            this.prefetchClosed = true;
+            this.prefetchedChunks.clear();
+        }
+    }
+
+    @Override
+    public RegionExistenceIndex getRegionExistenceIndex() {
+        return this.existenceIndex;
+    }
+
+    @Override
+    public ColdChunkCache getColdChunkCache() {
+        return this.coldChunkCache;
+    }
+
+    @Override
+    public boolean hasPendingChunks() {
+        return !this.chunksToRemove.isEmpty();
+    }
+
 }
@@ -0,0 +1,169 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.core.world.chunk.storage;
+
+import net.minecraft.world.chunk.storage.RegionFile;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Overwrite;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.common.interfaces.world.IMixinRegionFile;
+import org.spongepowered.common.world.storage.ChunkCompression;
+import org.spongepowered.common.world.storage.RegionChunkBuffer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+@Mixin(RegionFile.class)
+public abstract class MixinRegionFile implements IMixinRegionFile {
+
+    @Shadow private RandomAccessFile dataFile;
+    @Shadow private List<Boolean> sectorFree;
+
+    @Shadow private boolean outOfBounds(int x, int z) {
+        return false; // Shadowed
+    }
+
+    @Shadow private int getOffset(int x, int z) {
+        return 0; // Shadowed
+    }
+
+    @Shadow protected abstract void write(int x, int z, byte[] data, int length);
+
+    private byte writeVersion = ChunkCompression.DEFLATE.getVersion();
+
+    @Nullable
+    @Override
+    public DataOutputStream getChunkDataOutputStream(int x, int z, ChunkCompression compression, int level) throws IOException {
+        if (this.outOfBounds(x, z)) {
+            return null;
+        }
+        return new DataOutputStream(new BufferedOutputStream(compression.compress(new RegionChunkBuffer(this, x, z, compression), level)));
+    }
+
+    @Override
+    public void writeChunk(int x, int z, byte[] data, int length, ChunkCompression compression) {
+        this.writeChunk(x, z, data, length, compression.getVersion());
+    }
+
+    @Nullable
+    @Override
+    public synchronized byte[] readRawChunk(int x, int z) throws IOException {
+        if (this.outOfBounds(x, z)) {
+            return null;
+        }
+        final int offset = this.getOffset(x, z);
+        if (offset == 0) {
+            return null;
+        }
+        final int sectorNumber = offset >> 8;
+        final int numSectors = offset & 255;
+        if (sectorNumber + numSectors > this.sectorFree.size()) {
+            return null;
+        }
+        this.dataFile.seek(sectorNumber * 4096L);
+        final int length = this.dataFile.readInt();
+        if (length > 4096 * numSectors || length <= 0) {
+            return null;
+        }
+        final byte[] raw = new byte[length];
+        this.dataFile.readFully(raw);
+        return raw;
+    }
+
+    @Override
+    public void writeRawChunk(int x, int z, byte[] raw) {
+        this.writeChunk(x, z, Arrays.copyOfRange(raw, 1, raw.length), raw.length - 1, raw[0]);
+    }
+
+    private synchronized void writeChunk(int x, int z, byte[] data, int length, byte version) {
+        this.writeVersion = version;
+        try {
+            this.write(x, z, data, length);
+        } finally {
+            this.writeVersion = ChunkCompression.DEFLATE.getVersion();
+        }
+    }
+
+    @Redirect(method = "write(I[BI)V", at = @At(value = "INVOKE", target = "Ljava/io/RandomAccessFile;writeByte(I)V"))
+    private void onWriteVersion(RandomAccessFile file, int version) throws IOException {
+        file.writeByte(this.writeVersion);
+    }
+
+    /**
+     * @author agent - October 19th, 2026
+     * @reason Support every {@link ChunkCompression}, including uncompressed
+     *     chunks which vanilla does not know about.
+     *
+     * @param x The region local x coordinate
+     * @param z The region local z coordinate
+     * @return The chunk data stream, or null if not found
+     */
+    @Nullable
+    @Overwrite
+    public synchronized DataInputStream getChunkDataInputStream(int x, int z) {
+        if (this.outOfBounds(x, z)) {
+            return null;
+        }
+        try {
+            int offset = this.getOffset(x, z);
+            if (offset == 0) {
+                return null;
+            }
+            int sectorNumber = offset >> 8;
+            int numSectors = offset & 255;
+            if (sectorNumber + numSectors > this.sectorFree.size()) {
+                return null;
+            }
+            this.dataFile.seek(sectorNumber * 4096L);
+            int length = this.dataFile.readInt();
+            if (length > 4096 * numSectors || length <= 0) {
+                return null;
+            }
+            // Sponge start - look up the codec instead of only handling gzip and deflate
+            final ChunkCompression compression = ChunkCompression.byVersion(this.dataFile.readByte());
+            if (compression == null) {
+                return null;
+            }
+            byte[] data = new byte[length - 1];
+            this.dataFile.read(data);
+            return new DataInputStream(new BufferedInputStream(compression.decompress(new ByteArrayInputStream(data))));
+            // Sponge end
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.core.world.chunk.storage;
+
+import net.minecraft.world.chunk.storage.RegionFile;
+import net.minecraft.world.chunk.storage.RegionFileCache;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.common.world.storage.StripedChunkWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+
+@Mixin(RegionFileCache.class)
+public abstract class MixinRegionFileCache {
+
+    /**
+     * Only closes the region files which aren't being written by a chunk save
+     * stripe when the cache is full, other stripes may be in the middle of a
+     * write to theirs.
+     */
+    @Redirect(method = "createOrLoadRegionFile", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/chunk/storage/RegionFileCache;clearRegionFileReferences()V"))
+    private static void onCreateOrLoadClearReferences() {
+        final Iterator<Map.Entry<File, RegionFile>> iterator = RegionFileCache.REGIONS_BY_FILE.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<File, RegionFile> entry = iterator.next();
+            if (StripedChunkWriter.isWriting(entry.getKey())) {
+                continue;
+            }
+            try {
+                if (entry.getValue() != null) {
+                    entry.getValue().close();
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            iterator.remove();
+        }
+    }
+
+}
@@ -72,6 +72,7 @@
 import java.util.Iterator;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 @Mixin(ChunkProviderServer.class)
 public abstract class MixinChunkProviderServer implements WorldStorage, IMixinChunkProviderServer {
@@ -110,12 +111,27 @@ public WorldServer getWorld() {
         return this.world;
     }
 
+    @Override
+    public IChunkLoader getChunkLoader() {
+        return this.chunkLoader;
+    }
+
     @Override
     public ChunkDataStream getGeneratedChunks() {
         if (!(this.chunkLoader instanceof IMixinAnvilChunkLoader)) {
             throw new UnsupportedOperationException("unknown chunkLoader");
         }
-        return new SpongeChunkDataStream(((IMixinAnvilChunkLoader) this.chunkLoader).getWorldDir());
+        return new SpongeChunkDataStream(((IMixinAnvilChunkLoader) this.chunkLoader).getWorldDir(),
+                () -> WorldStorageUtil.canMapRegionFiles(this.world, this.chunkLoader));
+    }
+
+    @Override
+    public Stream<DataContainer> getGeneratedChunksParallel() {
+        if (!(this.chunkLoader instanceof IMixinAnvilChunkLoader)) {
+            throw new UnsupportedOperationException("unknown chunkLoader");
+        }
+        return WorldStorageUtil.streamGeneratedChunks(((IMixinAnvilChunkLoader) this.chunkLoader).getWorldDir(),
+                () -> WorldStorageUtil.canMapRegionFiles(this.world, this.chunkLoader));
     }
 
     @Override
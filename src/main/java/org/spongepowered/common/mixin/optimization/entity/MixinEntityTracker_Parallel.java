@@ -0,0 +1,88 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.optimization.entity;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityTracker;
+import net.minecraft.entity.EntityTrackerEntry;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Overwrite;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.common.entity.tracking.ParallelEntityTracker;
+import org.spongepowered.common.interfaces.entity.IMixinEntityTrackerEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Mixin(EntityTracker.class)
+public abstract class MixinEntityTracker_Parallel {
+
+    @Shadow @Final private WorldServer world;
+    @Shadow @Final private Set<EntityTrackerEntry> entries;
+
+    /**
+     * @author agent - October 19th, 2026
+     * @reason Updates the entries that only send movement and metadata
+     * packets to their current tracking players in parallel. Entries that
+     * need to change their tracking players are updated on the main thread
+     * first, as that fires tracking callbacks and modifies the players.
+     */
+    @Overwrite
+    public void tick() {
+        final List<EntityTrackerEntry> parallelEntries = new ArrayList<>(this.entries.size());
+        final List<EntityPlayerMP> movedPlayers = new ArrayList<>();
+
+        for (EntityTrackerEntry entry : this.entries) {
+            if (((IMixinEntityTrackerEntry) entry).canUpdateInParallel()) {
+                parallelEntries.add(entry);
+                continue;
+            }
+            entry.updatePlayerList(this.world.playerEntities);
+
+            if (entry.playerEntitiesUpdated) {
+                final Entity entity = entry.getTrackedEntity();
+
+                if (entity instanceof EntityPlayerMP) {
+                    movedPlayers.add((EntityPlayerMP) entity);
+                }
+            }
+        }
+
+        // These never update their tracking players, so they can't have moved players
+        ParallelEntityTracker.getInstance().update(parallelEntries, this.world.playerEntities);
+
+        for (EntityPlayerMP player : movedPlayers) {
+            for (EntityTrackerEntry entry : this.entries) {
+                if (entry.getTrackedEntity() != player) {
+                    entry.updatePlayerEntity(player);
+                }
+            }
+        }
+    }
+}
@@ -44,12 +44,13 @@
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+import org.spongepowered.common.world.lighting.AsyncLightingExecutor;
+import org.spongepowered.common.world.lighting.ChunkLightingQueue;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
 
 @Mixin(value = Chunk.class, priority = 1002)
@@ -61,7 +62,8 @@ public abstract class MixinChunk_Async_Lighting implements IMixinChunk {
     private CopyOnWriteArrayList<Short> queuedBlockLightingUpdates = new CopyOnWriteArrayList<>();
     private AtomicInteger pendingLightUpdates = new AtomicInteger();
     private long lightUpdateTime;
-    private ExecutorService lightExecutorService;
+    private AsyncLightingExecutor lightExecutorService;
+    private final ChunkLightingQueue lightingQueue = new ChunkLightingQueue();
     private static final List<Chunk> EMPTY_LIST = new ArrayList<>();
     private static final BlockPos DUMMY_POS = new BlockPos(0, 0, 0);
 
@@ -99,6 +101,11 @@ public void onConstruct(World worldIn, int x, int z, CallbackInfo ci) {
         }
     }
 
+    @Override
+    public ChunkLightingQueue getLightingQueue() {
+        return this.lightingQueue;
+    }
+
     @Override
     public AtomicInteger getPendingLightUpdates() {
         return this.pendingLightUpdates;
@@ -121,7 +128,7 @@ private void onTickHead(boolean skipRecheckGaps, CallbackInfo ci)
             final List<Chunk> neighbors = this.getSurroundingChunks();
             if (this.isGapLightingUpdated && this.world.provider.hasSkyLight() && !skipRecheckGaps && !neighbors.isEmpty())
             {
-                this.lightExecutorService.execute(() -> {
+                this.lightExecutorService.execute(this, () -> {
                     this.recheckGapsAsync(neighbors);
                 });
                 this.isGapLightingUpdated = false;
@@ -131,7 +138,7 @@ private void onTickHead(boolean skipRecheckGaps, CallbackInfo ci)
     
             if (!this.isLightPopulated && this.isTerrainPopulated && !neighbors.isEmpty())
             {
-                this.lightExecutorService.execute(() -> {
+                this.lightExecutorService.execute(this, () -> {
                     this.checkLightAsync(neighbors);
                 });
                 // set to true to avoid requeuing the same task when not finished
@@ -268,7 +275,7 @@ private void checkLightHead(CallbackInfo ci) {
             }
 
             if (SpongeImpl.getServer().isCallingFromMinecraftThread()) {
-                this.lightExecutorService.execute(() -> {
+                this.lightExecutorService.execute(this, () -> {
                     this.checkLightAsync(neighborChunks);
                 });
             } else {
@@ -482,7 +489,7 @@ private List<Chunk> getSurroundingChunks() {
     @Inject(method = "relightBlock", at = @At("HEAD"), cancellable = true)
     private void onRelightBlock(int x, int y, int z, CallbackInfo ci) {
         if (!this.world.isRemote) {
-            this.lightExecutorService.execute(() -> {
+            this.lightExecutorService.execute(this, () -> {
                 this.relightBlockAsync(x, y, z);
             });
             ci.cancel();
@@ -0,0 +1,104 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.optimization.world;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.util.ClassInheritanceMultiMap;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+import org.spongepowered.common.SpongeImpl;
+
+@Mixin(Chunk.class)
+public abstract class MixinChunk_Incremental_Save {
+
+    private static final long UNKNOWN_FINGERPRINT = Long.MIN_VALUE;
+
+    @Shadow @Final private ClassInheritanceMultiMap<Entity>[] entityLists;
+    @Shadow private boolean dirty;
+    @Shadow private boolean hasEntities;
+
+    private long savedEntityFingerprint = UNKNOWN_FINGERPRINT;
+    private long currentEntityFingerprint = UNKNOWN_FINGERPRINT;
+    private int skippedSaves;
+
+    /**
+     * Vanilla saves every chunk containing entities whether or not they
+     * changed. Skip those saves if neither blocks nor entity positions
+     * changed since the chunk was last saved, up to the configured number of
+     * times in a row as changes to entities that don't move are not noticed.
+     * Saves of all chunks, like on save-all or server stop, are never
+     * skipped for the same reason.
+     */
+    @Inject(method = "needsSaving", at = @At("HEAD"), cancellable = true)
+    private void onNeedsSavingHead(boolean all, CallbackInfoReturnable<Boolean> cir) {
+        this.currentEntityFingerprint = UNKNOWN_FINGERPRINT;
+        // Without entities vanilla only saves dirty chunks already
+        if (all || this.dirty || !this.hasEntities) {
+            return;
+        }
+        this.currentEntityFingerprint = this.computeEntityFingerprint();
+        if (this.currentEntityFingerprint != this.savedEntityFingerprint) {
+            return;
+        }
+        if (this.skippedSaves < SpongeImpl.getGlobalConfig().getConfig().getOptimizations().getIncrementalChunkSaveCategory().getMaxSkippedSaves()) {
+            this.skippedSaves++;
+            cir.setReturnValue(false);
+        }
+    }
+
+    @Inject(method = "needsSaving", at = @At("RETURN"))
+    private void onNeedsSavingReturn(boolean all, CallbackInfoReturnable<Boolean> cir) {
+        if (!cir.getReturnValueZ()) {
+            return;
+        }
+        // Only fingerprinted when saved, unless it already was above, so the next autosave can be skipped
+        if (this.currentEntityFingerprint == UNKNOWN_FINGERPRINT && this.hasEntities) {
+            this.currentEntityFingerprint = this.computeEntityFingerprint();
+        }
+        this.savedEntityFingerprint = this.currentEntityFingerprint;
+        this.skippedSaves = 0;
+    }
+
+    private long computeEntityFingerprint() {
+        long hash = 1;
+        for (ClassInheritanceMultiMap<Entity> entities : this.entityLists) {
+            for (Entity entity : entities) {
+                hash = 31 * hash + entity.getEntityId();
+                hash = 31 * hash + Double.doubleToLongBits(entity.posX);
+                hash = 31 * hash + Double.doubleToLongBits(entity.posY);
+                hash = 31 * hash + Double.doubleToLongBits(entity.posZ);
+                hash = 31 * hash + Float.floatToIntBits(entity.rotationYaw);
+                hash = 31 * hash + Float.floatToIntBits(entity.rotationPitch);
+            }
+        }
+        return hash == UNKNOWN_FINGERPRINT ? 0 : hash;
+    }
+
+}
@@ -24,7 +24,7 @@
  */
 package org.spongepowered.common.mixin.optimization.world;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import it.unimi.dsi.fastutil.shorts.ShortIterator;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
@@ -32,7 +32,11 @@
 import net.minecraft.world.EnumSkyBlock;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.gen.ChunkProviderServer;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.interfaces.IMixinChunk;
@@ -40,10 +44,12 @@
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.mixin.core.world.MixinWorld;
+import org.spongepowered.common.world.lighting.AsyncLightingExecutor;
+import org.spongepowered.common.world.lighting.LightPropagationContext;
+import org.spongepowered.common.world.lighting.LightUpdateBatch;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import javax.annotation.Nullable;
 
@@ -54,9 +60,11 @@ public abstract class MixinWorldServer_Async_Lighting extends MixinWorld impleme
     private static final int NUM_SHORT_Y_BITS = 8;
     private static final short XZ_MASK = 0xF;
     private static final short Y_SHORT_MASK = 0xFF;
+    // EnumFacing.values() copies the array on every call
+    private static final EnumFacing[] FACINGS = EnumFacing.values();
 
-    private ExecutorService lightExecutorService = 
-                Executors.newFixedThreadPool(SpongeImpl.getGlobalConfig().getConfig().getOptimizations().getAsyncLightingCategory().getNumThreads(), new ThreadFactoryBuilder().setNameFormat("Sponge - Async Light Thread").build());
+    // The batches of light checks queued this tick, only accessed by the main thread
+    private final List<LightUpdateBatch> lightUpdateBatches = new ArrayList<>();
 
     @Override
     public boolean checkLightFor(EnumSkyBlock lightType, BlockPos pos) {
@@ -65,142 +73,145 @@ public boolean checkLightFor(EnumSkyBlock lightType, BlockPos pos) {
 
     @Override
     public boolean checkLightAsync(EnumSkyBlock lightType, BlockPos pos, net.minecraft.world.chunk.Chunk currentChunk, List<Chunk> neighbors) {
-        // Sponge - This check is not needed as neighbors are checked in updateLightAsync
-        if (false && !this.isAreaLoaded(pos, 17, false)) {
-            return false;
-        } else {
-            final IMixinChunk spongeChunk = (IMixinChunk) currentChunk;
-            int i = 0;
-            int j = 0;
-            //this.theProfiler.startSection("getBrightness"); // Sponge - don't use profiler off of main thread
-            int k = this.getLightForAsync(lightType, pos, currentChunk, neighbors); // Sponge - use thread safe method
-            int l = this.getRawBlockLightAsync(lightType, pos, currentChunk, neighbors); // Sponge - use thread safe method
-            int i1 = pos.getX();
-            int j1 = pos.getY();
-            int k1 = pos.getZ();
-
-            if (l > k) {
-                this.lightUpdateBlockList[j++] = 133152;
-            } else if (l < k) {
-                this.lightUpdateBlockList[j++] = 133152 | k << 18;
-
-                while (i < j) {
-                    int l1 = this.lightUpdateBlockList[i++];
-                    int i2 = (l1 & 63) - 32 + i1;
-                    int j2 = (l1 >> 6 & 63) - 32 + j1;
-                    int k2 = (l1 >> 12 & 63) - 32 + k1;
-                    int l2 = l1 >> 18 & 15;
-                    BlockPos blockpos = new BlockPos(i2, j2, k2);
-                    int i3 = this.getLightForAsync(lightType, blockpos, currentChunk, neighbors); // Sponge - use thread safe method
-
-                    if (i3 == l2) {
-                        this.setLightForAsync(lightType, blockpos, 0, currentChunk, neighbors); // Sponge - use thread safe method
-
-                        if (l2 > 0) {
-                            int j3 = MathHelper.abs(i2 - i1);
-                            int k3 = MathHelper.abs(j2 - j1);
-                            int l3 = MathHelper.abs(k2 - k1);
-
-                            if (j3 + k3 + l3 < 17) {
-                                BlockPos.PooledMutableBlockPos blockpos$pooledmutableblockpos = BlockPos.PooledMutableBlockPos.retain();
-
-                                for (EnumFacing enumfacing : EnumFacing.values()) {
-                                    int i4 = i2 + enumfacing.getFrontOffsetX();
-                                    int j4 = j2 + enumfacing.getFrontOffsetY();
-                                    int k4 = k2 + enumfacing.getFrontOffsetZ();
-                                    blockpos$pooledmutableblockpos.setPos(i4, j4, k4);
-                                    // Sponge start - get chunk safely
-                                    final Chunk pooledChunk = this.getLightChunk(blockpos$pooledmutableblockpos, currentChunk, neighbors);
-                                    if (pooledChunk == null) {
-                                        continue;
-                                    }
-                                    int l4 = Math.max(1, pooledChunk.getBlockState(blockpos$pooledmutableblockpos).getLightOpacity());
-                                    i3 = this.getLightForAsync(lightType, blockpos$pooledmutableblockpos, currentChunk, neighbors);
-                                    // Sponge end
-
-                                    if (i3 == l2 - l4 && j < this.lightUpdateBlockList.length) {
-                                        this.lightUpdateBlockList[j++] = i4 - i1 + 32 | j4 - j1 + 32 << 6 | k4 - k1 + 32 << 12 | l2 - l4 << 18;
-                                    }
+        // Sponge - The area loaded check is not needed as neighbors are checked in updateLightAsync
+        final IMixinChunk spongeChunk = (IMixinChunk) currentChunk;
+        final LightPropagationContext context = LightPropagationContext.get();
+        context.setNeighborhood(currentChunk, neighbors);
+        try {
+            this.propagateLightAsync(lightType, pos.getX(), pos.getY(), pos.getZ(), context);
+        } finally {
+            context.clear();
+        }
+
+        // Sponge start - Asynchronous light updates
+        spongeChunk.getQueuedLightingUpdates(lightType).remove((Short) this.blockPosToShort(pos));
+        spongeChunk.getPendingLightUpdates().decrementAndGet();
+        for (net.minecraft.world.chunk.Chunk neighborChunk : neighbors) {
+            final IMixinChunk neighbor = (IMixinChunk) neighborChunk;
+            neighbor.getPendingLightUpdates().decrementAndGet();
+        }
+        // Sponge end
+        return true;
+    }
+
+    /**
+     * A copy of {@link net.minecraft.world.World#checkLightFor} that works on
+     * block coordinates and the chunks of the given context instead of
+     * {@link BlockPos}es and the chunk provider, so it's thread safe and
+     * doesn't allocate.
+     *
+     * @param lightType The light type
+     * @param i1 The x coordinate of the updated position
+     * @param j1 The y coordinate of the updated position
+     * @param k1 The z coordinate of the updated position
+     * @param context The context of the current thread
+     */
+    private void propagateLightAsync(EnumSkyBlock lightType, int i1, int j1, int k1, LightPropagationContext context) {
+        final int[] lightUpdateBlockList = context.queue; // Sponge - use the queue of this thread, the world's is shared
+        int i = 0;
+        int j = 0;
+        int k = this.getLightForAsync(lightType, i1, j1, k1, context);
+        int l = this.getRawBlockLightAsync(lightType, i1, j1, k1, context);
+
+        if (l > k) {
+            lightUpdateBlockList[j++] = 133152;
+        } else if (l < k) {
+            lightUpdateBlockList[j++] = 133152 | k << 18;
+
+            while (i < j) {
+                int l1 = lightUpdateBlockList[i++];
+                int i2 = (l1 & 63) - 32 + i1;
+                int j2 = (l1 >> 6 & 63) - 32 + j1;
+                int k2 = (l1 >> 12 & 63) - 32 + k1;
+                int l2 = l1 >> 18 & 15;
+                int i3 = this.getLightForAsync(lightType, i2, j2, k2, context);
+
+                if (i3 == l2) {
+                    this.setLightForAsync(lightType, i2, j2, k2, 0, context);
+
+                    if (l2 > 0) {
+                        int j3 = MathHelper.abs(i2 - i1);
+                        int k3 = MathHelper.abs(j2 - j1);
+                        int l3 = MathHelper.abs(k2 - k1);
+
+                        if (j3 + k3 + l3 < 17) {
+                            for (EnumFacing enumfacing : FACINGS) {
+                                int i4 = i2 + enumfacing.getFrontOffsetX();
+                                int j4 = j2 + enumfacing.getFrontOffsetY();
+                                int k4 = k2 + enumfacing.getFrontOffsetZ();
+                                final Chunk chunk = context.getChunk(i4, k4);
+                                if (chunk == null) {
+                                    continue;
                                 }
+                                int l4 = Math.max(1, chunk.getBlockState(context.pos.setPos(i4, j4, k4)).getLightOpacity());
+                                i3 = this.getLightForAsync(lightType, i4, j4, k4, context);
 
-                                blockpos$pooledmutableblockpos.release();
+                                if (i3 == l2 - l4 && j < lightUpdateBlockList.length) {
+                                    lightUpdateBlockList[j++] = i4 - i1 + 32 | j4 - j1 + 32 << 6 | k4 - k1 + 32 << 12 | l2 - l4 << 18;
+                                }
                             }
                         }
                     }
                 }
-
-                i = 0;
             }
 
-            //this.theProfiler.endSection(); // Sponge - don't use profiler off of main thread
-            //this.theProfiler.startSection("checkedPosition < toCheckCount"); // Sponge - don't use profiler off of main thread
+            i = 0;
+        }
 
-            while (i < j) {
-                int i5 = this.lightUpdateBlockList[i++];
-                int j5 = (i5 & 63) - 32 + i1;
-                int k5 = (i5 >> 6 & 63) - 32 + j1;
-                int l5 = (i5 >> 12 & 63) - 32 + k1;
-                BlockPos blockpos1 = new BlockPos(j5, k5, l5);
-                int i6 = this.getLightForAsync(lightType, blockpos1, currentChunk, neighbors); // Sponge - use thread safe method
-                int j6 = this.getRawBlockLightAsync(lightType, blockpos1, currentChunk, neighbors); // Sponge - use thread safe method
-
-                if (j6 != i6) {
-                    this.setLightForAsync(lightType, blockpos1, j6, currentChunk, neighbors); // Sponge - use thread safe method
-
-                    if (j6 > i6) {
-                        int k6 = Math.abs(j5 - i1);
-                        int l6 = Math.abs(k5 - j1);
-                        int i7 = Math.abs(l5 - k1);
-                        boolean flag = j < this.lightUpdateBlockList.length - 6;
-
-                        if (k6 + l6 + i7 < 17 && flag) {
-                            // Sponge start - use thread safe method getLightForAsync
-                            if (this.getLightForAsync(lightType, blockpos1.west(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - 1 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
-                            }
+        while (i < j) {
+            int i5 = lightUpdateBlockList[i++];
+            int j5 = (i5 & 63) - 32 + i1;
+            int k5 = (i5 >> 6 & 63) - 32 + j1;
+            int l5 = (i5 >> 12 & 63) - 32 + k1;
+            int i6 = this.getLightForAsync(lightType, j5, k5, l5, context);
+            int j6 = this.getRawBlockLightAsync(lightType, j5, k5, l5, context);
+
+            if (j6 != i6) {
+                this.setLightForAsync(lightType, j5, k5, l5, j6, context);
+
+                if (j6 > i6) {
+                    int k6 = Math.abs(j5 - i1);
+                    int l6 = Math.abs(k5 - j1);
+                    int i7 = Math.abs(l5 - k1);
+                    boolean flag = j < lightUpdateBlockList.length - 6;
+
+                    if (k6 + l6 + i7 < 17 && flag) {
+                        if (this.getLightForAsync(lightType, j5 - 1, k5, l5, context) < j6) {
+                            lightUpdateBlockList[j++] = j5 - 1 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
+                        }
 
-                            if (this.getLightForAsync(lightType, blockpos1.east(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 + 1 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
-                            }
+                        if (this.getLightForAsync(lightType, j5 + 1, k5, l5, context) < j6) {
+                            lightUpdateBlockList[j++] = j5 + 1 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
+                        }
 
-                            if (this.getLightForAsync(lightType, blockpos1.down(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - 1 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
-                            }
+                        if (this.getLightForAsync(lightType, j5, k5 - 1, l5, context) < j6) {
+                            lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - 1 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
+                        }
 
-                            if (this.getLightForAsync(lightType, blockpos1.up(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 + 1 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
-                            }
+                        if (this.getLightForAsync(lightType, j5, k5 + 1, l5, context) < j6) {
+                            lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 + 1 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
+                        }
 
-                            if (this.getLightForAsync(lightType, blockpos1.north(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - 1 - k1 + 32 << 12);
-                            }
+                        if (this.getLightForAsync(lightType, j5, k5, l5 - 1, context) < j6) {
+                            lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - 1 - k1 + 32 << 12);
+                        }
 
-                            if (this.getLightForAsync(lightType, blockpos1.south(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 + 1 - k1 + 32 << 12);
-                            }
-                            // Sponge end
+                        if (this.getLightForAsync(lightType, j5, k5, l5 + 1, context) < j6) {
+                            lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 + 1 - k1 + 32 << 12);
                         }
                     }
                 }
             }
-
-            // Sponge start - Asynchronous light updates
-            spongeChunk.getQueuedLightingUpdates(lightType).remove((Short) this.blockPosToShort(pos));
-            spongeChunk.getPendingLightUpdates().decrementAndGet();
-            for (net.minecraft.world.chunk.Chunk neighborChunk : neighbors) {
-                final IMixinChunk neighbor = (IMixinChunk) neighborChunk;
-                neighbor.getPendingLightUpdates().decrementAndGet();
-            }
-
-            // Sponge end
-            //this.theProfiler.endSection(); // Sponge - don't use profiler off of main thread
-            return true;
         }
     }
 
     @Override
     public boolean updateLightAsync(EnumSkyBlock lightType, BlockPos pos, @Nullable Chunk currentChunk) {
-        if (this.getMinecraftServer().isServerStopped() || this.lightExecutorService.isShutdown()) {
+        if (this.getMinecraftServer().isServerStopped() || this.getLightingExecutor().isShutdown()) {
+            return false;
+        }
+
+        if (pos.getY() < 0 || pos.getY() >= 256) {
             return false;
         }
 
@@ -219,10 +230,30 @@ public boolean updateLightAsync(EnumSkyBlock lightType, BlockPos pos, @Nullable
         }
 
         final Chunk chunk = currentChunk;
+        if (SpongeImpl.getServer().isCallingFromMinecraftThread()) {
+            // Sponge - Coalesce the checks of a section until the end of the tick, overlapping checks then mostly find the light already correct
+            final int section = pos.getY() >> 4;
+            LightUpdateBatch batch = spongeChunk.getLightingQueue().getBatch(lightType, section);
+            if (batch == null) {
+                batch = new LightUpdateBatch(chunk, lightType, section, this.getLightNeighbors(spongeChunk));
+                spongeChunk.getLightingQueue().setBatch(batch);
+                this.lightUpdateBatches.add(batch);
+                this.markPendingLightUpdate(spongeChunk, batch.getNeighbors());
+            }
+            if (!batch.add(shortPos)) {
+                return false;
+            }
+            return true;
+        }
+
         spongeChunk.getQueuedLightingUpdates(lightType).add(shortPos);
-        spongeChunk.getPendingLightUpdates().incrementAndGet();
-        spongeChunk.setLightUpdateTime(chunk.getWorld().getTotalWorldTime());
+        final List<Chunk> neighbors = this.getLightNeighbors(spongeChunk);
+        this.markPendingLightUpdate(spongeChunk, neighbors);
+        this.checkLightAsync(lightType, pos, chunk, neighbors);
+        return true;
+    }
 
+    private List<Chunk> getLightNeighbors(IMixinChunk spongeChunk) {
         List<Chunk> neighbors = spongeChunk.getNeighbors();
         // add diagonal chunks
         Chunk southEastChunk = ((IMixinChunk) spongeChunk.getNeighborChunk(0)).getNeighborChunk(2);
@@ -241,72 +272,119 @@ public boolean updateLightAsync(EnumSkyBlock lightType, BlockPos pos, @Nullable
         if (northWestChunk != null) {
             neighbors.add(northWestChunk);
         }
+        return neighbors;
+    }
 
+    private void markPendingLightUpdate(IMixinChunk spongeChunk, List<Chunk> neighbors) {
+        final long time = ((net.minecraft.world.World) (Object) this).getTotalWorldTime();
+        spongeChunk.getPendingLightUpdates().incrementAndGet();
+        spongeChunk.setLightUpdateTime(time);
         for (net.minecraft.world.chunk.Chunk neighborChunk : neighbors) {
             final IMixinChunk neighbor = (IMixinChunk) neighborChunk;
             neighbor.getPendingLightUpdates().incrementAndGet();
-            neighbor.setLightUpdateTime(chunk.getWorld().getTotalWorldTime());
+            neighbor.setLightUpdateTime(time);
         }
-
-        //System.out.println("size = " + ((ThreadPoolExecutor) this.lightExecutorService).getQueue().size());
-        if (SpongeImpl.getServer().isCallingFromMinecraftThread()) {
-            this.lightExecutorService.execute(() -> {
-                this.checkLightAsync(lightType, pos, chunk, neighbors);
-            });
-        } else {
-            this.checkLightAsync(lightType, pos, chunk, neighbors);
-        }
-
-        return true;
     }
 
-    @Override
-    public ExecutorService getLightingExecutor() {
-        return this.lightExecutorService;
+    private void releasePendingLightUpdate(IMixinChunk spongeChunk, List<Chunk> neighbors) {
+        spongeChunk.getPendingLightUpdates().decrementAndGet();
+        for (net.minecraft.world.chunk.Chunk neighborChunk : neighbors) {
+            final IMixinChunk neighbor = (IMixinChunk) neighborChunk;
+            neighbor.getPendingLightUpdates().decrementAndGet();
+        }
     }
 
-    // Thread safe methods to retrieve a chunk during async light updates
-    // Each method avoids calling getLoadedChunk and instead accesses the passed neighbor chunk list to avoid concurrency issues
-    public Chunk getLightChunk(BlockPos pos, Chunk currentChunk, List<Chunk> neighbors) {
-        if (currentChunk.isAtLocation(pos.getX() >> 4, pos.getZ() >> 4)) {
-            if (currentChunk.unloadQueued) {
-                return null;
+    /**
+     * Submits the light checks coalesced during this tick, one job per chunk
+     * section and light type.
+     *
+     * <p>Runs after entities were updated, which is the last step of the
+     * world tick, so block changes of the world tick are included. Checks
+     * queued after it, like from the entity tracker or the scheduled tasks of
+     * the next tick, wait for the next flush. Chunks with a batch queued aren't
+     * unloaded meanwhile, the batch counts as a pending light update of the
+     * chunk and its neighbors until the job ran.</p>
+     */
+    @Inject(method = "updateEntities", at = @At("RETURN"))
+    private void onUpdateEntitiesReturn(CallbackInfo ci) {
+        if (this.lightUpdateBatches.isEmpty()) {
+            return;
+        }
+        final AsyncLightingExecutor executor = this.getLightingExecutor();
+        final boolean shutdown = this.getMinecraftServer().isServerStopped() || executor.isShutdown();
+        for (LightUpdateBatch batch : this.lightUpdateBatches) {
+            final IMixinChunk spongeChunk = (IMixinChunk) batch.getChunk();
+            spongeChunk.getLightingQueue().removeBatch(batch);
+            if (shutdown) {
+                this.releasePendingLightUpdate(spongeChunk, batch.getNeighbors());
+                continue;
             }
-            return currentChunk;
+            // Keep the checks visible as queued until the job ran, so they aren't queued again meanwhile
+            spongeChunk.getQueuedLightingUpdates(batch.getLightType()).addAll(batch.getPositions());
+            executor.execute(spongeChunk, batch.getPositions().size(), () -> this.runLightUpdateBatch(batch));
         }
-        for (net.minecraft.world.chunk.Chunk neighbor : neighbors) {
-            if (neighbor.isAtLocation(pos.getX() >> 4, pos.getZ() >> 4)) {
-                if (neighbor.unloadQueued) {
-                    return null;
-                }
-                return neighbor;
+        this.lightUpdateBatches.clear();
+    }
+
+    private void runLightUpdateBatch(LightUpdateBatch batch) {
+        final Chunk chunk = batch.getChunk();
+        final IMixinChunk spongeChunk = (IMixinChunk) chunk;
+        final LightPropagationContext context = LightPropagationContext.get();
+        context.setNeighborhood(chunk, batch.getNeighbors());
+        try {
+            final ShortIterator iterator = batch.getPositions().iterator();
+            while (iterator.hasNext()) {
+                final int shortPos = iterator.nextShort() & 0xFFFF;
+                final int x = (chunk.x << 4) | (shortPos & XZ_MASK);
+                final int y = (shortPos >> 4) & Y_SHORT_MASK;
+                final int z = (chunk.z << 4) | ((shortPos >> 12) & XZ_MASK);
+                this.propagateLightAsync(batch.getLightType(), x, y, z, context);
             }
+        } finally {
+            context.clear();
+            spongeChunk.getQueuedLightingUpdates(batch.getLightType()).removeAll(batch.getPositions());
+            this.releasePendingLightUpdate(spongeChunk, batch.getNeighbors());
         }
+    }
 
-        return null;
+    @Override
+    public AsyncLightingExecutor getLightingExecutor() {
+        return AsyncLightingExecutor.getInstance();
     }
 
-    private int getLightForAsync(EnumSkyBlock lightType, BlockPos pos, Chunk currentChunk, List<Chunk> neighbors) {
-        if (pos.getY() < 0) {
-            pos = new BlockPos(pos.getX(), 0, pos.getZ());
+    @Override
+    public int getChunksWithPendingLight() {
+        int count = 0;
+        for (Chunk chunk : ((ChunkProviderServer) this.chunkProvider).getLoadedChunks()) {
+            if (((IMixinChunk) chunk).getPendingLightUpdates().get() > 0) {
+                count++;
+            }
         }
+        return count;
+    }
+
+    // Thread safe methods to access light during async light updates
+    // Each method only accesses the chunks of the passed context to avoid concurrency issues
+    private int getLightForAsync(EnumSkyBlock lightType, int x, int y, int z, LightPropagationContext context) {
+        final BlockPos.MutableBlockPos pos = context.pos.setPos(x, Math.max(y, 0), z);
         if (!((IMixinBlockPos) pos).isValidPosition()) {
             return lightType.defaultLightValue;
         }
 
-        final Chunk chunk = this.getLightChunk(pos, currentChunk, neighbors);
-        if (chunk == null || chunk.unloadQueued) {
+        final Chunk chunk = context.getChunk(x, z);
+        if (chunk == null) {
             return lightType.defaultLightValue;
         }
 
         return chunk.getLightFor(lightType, pos);
     }
 
-    private int getRawBlockLightAsync(EnumSkyBlock lightType, BlockPos pos, Chunk currentChunk, List<Chunk> neighbors) {
-        final Chunk chunk = getLightChunk(pos, currentChunk, neighbors);
-        if (chunk == null || chunk.unloadQueued) {
+    private int getRawBlockLightAsync(EnumSkyBlock lightType, int x, int y, int z, LightPropagationContext context) {
+        final Chunk chunk = context.getChunk(x, z);
+        if (chunk == null) {
             return lightType.defaultLightValue;
         }
+        final BlockPos.MutableBlockPos pos = context.pos.setPos(x, y, z);
         if (lightType == EnumSkyBlock.SKY && chunk.canSeeSky(pos)) {
             return 15;
         } else {
@@ -328,9 +406,10 @@ private int getRawBlockLightAsync(EnumSkyBlock lightType, BlockPos pos, Chunk cu
             } else if (i >= 14) {
                 return i;
             } else {
-                for (EnumFacing enumfacing : EnumFacing.values()) {
-                    BlockPos blockpos = pos.offset(enumfacing);
-                    int k = this.getLightForAsync(lightType, blockpos, currentChunk, neighbors) - j;
+                // The context position is reused from here on
+                for (EnumFacing enumfacing : FACINGS) {
+                    int k = this.getLightForAsync(lightType, x + enumfacing.getFrontOffsetX(), y + enumfacing.getFrontOffsetY(),
+                            z + enumfacing.getFrontOffsetZ(), context) - j;
 
                     if (k > i) {
                         i = k;
@@ -346,12 +425,14 @@ private int getRawBlockLightAsync(EnumSkyBlock lightType, BlockPos pos, Chunk cu
         }
     }
 
-    public void setLightForAsync(EnumSkyBlock type, BlockPos pos, int lightValue, Chunk currentChunk, List<Chunk> neighbors) {
+    private void setLightForAsync(EnumSkyBlock type, int x, int y, int z, int lightValue, LightPropagationContext context) {
+        final BlockPos.MutableBlockPos pos = context.pos.setPos(x, y, z);
         if (((IMixinBlockPos) pos).isValidPosition()) {
-            final Chunk chunk = this.getLightChunk(pos, currentChunk, neighbors);
-            if (chunk != null && !chunk.unloadQueued) {
+            final Chunk chunk = context.getChunk(x, z);
+            if (chunk != null) {
                 chunk.setLightFor(type, pos, lightValue);
-                this.notifyLightSet(pos);
+                // Listeners may keep the position
+                this.notifyLightSet(new BlockPos(x, y, z));
             }
         }
     }
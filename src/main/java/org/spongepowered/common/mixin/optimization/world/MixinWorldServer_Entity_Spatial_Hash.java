@@ -0,0 +1,118 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.optimization.world;
+
+import com.google.common.base.Predicate;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.SpongeImplHooks;
+import org.spongepowered.common.mixin.core.world.MixinWorld;
+import org.spongepowered.common.world.EntitySpatialHash;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+@Mixin(WorldServer.class)
+public abstract class MixinWorldServer_Entity_Spatial_Hash extends MixinWorld {
+
+    private final EntitySpatialHash entitySpatialHash = new EntitySpatialHash();
+
+    @Inject(method = "onEntityAdded", at = @At("RETURN"))
+    private void onEntityAddedSpatialHash(Entity entityIn, CallbackInfo ci) {
+        this.entitySpatialHash.add(entityIn);
+    }
+
+    @Inject(method = "onEntityRemoved", at = @At("RETURN"))
+    private void onEntityRemovedSpatialHash(Entity entityIn, CallbackInfo ci) {
+        this.entitySpatialHash.remove(entityIn);
+    }
+
+    // Entities are moved to their new chunk at the end of this method as well
+    @Inject(method = "updateEntityWithOptionalForce", at = @At("RETURN"))
+    private void onUpdateEntitySpatialHash(Entity entityIn, boolean forceUpdate, CallbackInfo ci) {
+        this.entitySpatialHash.update(entityIn);
+    }
+
+    /**
+     * Gets the entities within the area from the spatial hash, with the same
+     * results as collecting them from the chunks within the area.
+     */
+    @Override
+    public List<Entity> getEntitiesInAABBexcluding(@Nullable Entity entityIn, AxisAlignedBB boundingBox, @Nullable Predicate<? super Entity> predicate) {
+        final List<Entity> candidates = new ArrayList<>();
+        this.entitySpatialHash.collectCandidates(boundingBox, SpongeImplHooks.getMaxEntityRadius((WorldServer) (Object) this), candidates);
+        final List<Entity> entities = new ArrayList<>();
+        for (Entity entity : candidates) {
+            if (entity == entityIn || !this.isInLoadedChunk(entity) || !entity.getEntityBoundingBox().intersects(boundingBox)) {
+                continue;
+            }
+            if (predicate == null || predicate.apply(entity)) {
+                entities.add(entity);
+            }
+            final Entity[] parts = entity.getParts();
+            if (parts != null) {
+                for (Entity part : parts) {
+                    if (part != entityIn && part.getEntityBoundingBox().intersects(boundingBox) && (predicate == null || predicate.apply(part))) {
+                        entities.add(part);
+                    }
+                }
+            }
+        }
+        this.throwCollideEntityEvent(entityIn, entities);
+        return entities;
+    }
+
+    /**
+     * Gets the entities of a type within the area from the spatial hash, with
+     * the same results as collecting them from the chunks within the area.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T extends Entity> List<T> getEntitiesWithinAABB(Class<? extends T> clazz, AxisAlignedBB aabb, @Nullable Predicate<? super T> filter) {
+        final List<Entity> candidates = new ArrayList<>();
+        this.entitySpatialHash.collectCandidates(aabb, SpongeImplHooks.getMaxEntityRadius((WorldServer) (Object) this), candidates);
+        final List<T> entities = new ArrayList<>();
+        for (Entity entity : candidates) {
+            if (clazz.isAssignableFrom(entity.getClass()) && this.isInLoadedChunk(entity) && entity.getEntityBoundingBox().intersects(aabb)
+                    && (filter == null || filter.apply((T) entity))) {
+                entities.add((T) entity);
+            }
+        }
+        this.throwCollideEntityEvent(null, (List<Entity>) entities);
+        return entities;
+    }
+
+    // Chunk queries only see entities in loaded chunks
+    private boolean isInLoadedChunk(Entity entity) {
+        return entity.addedToChunk && this.isChunkLoaded(entity.chunkCoordX, entity.chunkCoordZ, true);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.optimization.world.chunk;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.world.chunk.BlockStateContainer;
+import net.minecraft.world.chunk.NibbleArray;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import java.lang.ref.WeakReference;
+
+import javax.annotation.Nullable;
+
+@Mixin(BlockStateContainer.class)
+public abstract class MixinBlockStateContainer_Incremental_Save {
+
+    // The arrays of the section compound written by the last save, cleared by any change.
+    // Only weakly held, they are dropped along with the compound once it was written.
+    @Nullable private WeakReference<byte[]> savedBlockIds;
+    @Nullable private WeakReference<byte[]> savedData;
+    @Nullable private WeakReference<byte[]> savedBlockIdExtension;
+
+    @Inject(method = "set(ILnet/minecraft/block/state/IBlockState;)V", at = @At("HEAD"))
+    private void onSet(int index, IBlockState state, CallbackInfo ci) {
+        if (this.savedBlockIds != null) {
+            this.clearSavedData();
+        }
+    }
+
+    @Inject(method = "getDataForNBT", at = @At("HEAD"), cancellable = true)
+    private void onGetDataForNBTHead(byte[] blockIds, NibbleArray data, CallbackInfoReturnable<NibbleArray> cir) {
+        if (this.savedBlockIds == null) {
+            return;
+        }
+        final byte[] savedBlockIds = this.savedBlockIds.get();
+        final byte[] savedData = this.savedData.get();
+        final byte[] savedBlockIdExtension = this.savedBlockIdExtension == null ? null : this.savedBlockIdExtension.get();
+        if (savedBlockIds == null || savedData == null || (this.savedBlockIdExtension != null && savedBlockIdExtension == null)) {
+            this.clearSavedData();
+            return;
+        }
+        // Copying is far cheaper than resolving all 4096 states through the palette again
+        System.arraycopy(savedBlockIds, 0, blockIds, 0, blockIds.length);
+        System.arraycopy(savedData, 0, data.getData(), 0, savedData.length);
+        // Follow the new compound, the previous one may be written and dropped first.
+        // Compounds are never modified once built, the extension can be shared.
+        this.savedBlockIds = new WeakReference<>(blockIds);
+        this.savedData = new WeakReference<>(data.getData());
+        cir.setReturnValue(savedBlockIdExtension == null ? null : new NibbleArray(savedBlockIdExtension));
+    }
+
+    @Inject(method = "getDataForNBT", at = @At("RETURN"))
+    private void onGetDataForNBTReturn(byte[] blockIds, NibbleArray data, CallbackInfoReturnable<NibbleArray> cir) {
+        final NibbleArray blockIdExtension = cir.getReturnValue();
+        this.savedData = new WeakReference<>(data.getData());
+        this.savedBlockIdExtension = blockIdExtension == null ? null : new WeakReference<>(blockIdExtension.getData());
+        this.savedBlockIds = new WeakReference<>(blockIds);
+    }
+
+    private void clearSavedData() {
+        this.savedBlockIds = null;
+        this.savedData = null;
+        this.savedBlockIdExtension = null;
+    }
+
+}
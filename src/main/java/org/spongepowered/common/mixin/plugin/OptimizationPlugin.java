@@ -95,10 +95,22 @@ public void postApply(String targetClassName, ClassNode targetClass, String mixi
                     OptimizationCategory::usePandaRedstone)
             .put("org.spongepowered.common.mixin.optimization.entity.MixinEntityTameable_Cached_Owner",
                     OptimizationCategory::useCacheTameableOwners)
+            .put("org.spongepowered.common.mixin.optimization.entity.MixinEntityTracker_Parallel",
+                    OptimizationCategory::useParallelEntityTracker)
+            .put("org.spongepowered.common.mixin.optimization.entity.MixinEntityTrackerEntry_Parallel",
+                    OptimizationCategory::useParallelEntityTracker)
+            .put("org.spongepowered.common.mixin.optimization.network.MixinNetHandlerPlayServer_Parallel_Tracker",
+                    OptimizationCategory::useParallelEntityTracker)
             .put("org.spongepowered.common.mixin.optimization.world.MixinChunk_Async_Lighting",
                     OptimizationCategory::useAsyncLighting)
+            .put("org.spongepowered.common.mixin.optimization.world.MixinChunk_Incremental_Save",
+                    OptimizationCategory::useIncrementalChunkSaving)
+            .put("org.spongepowered.common.mixin.optimization.world.chunk.MixinBlockStateContainer_Incremental_Save",
+                    OptimizationCategory::useIncrementalChunkSaving)
             .put("org.spongepowered.common.mixin.optimization.world.MixinWorldServer_Async_Lighting",
                     OptimizationCategory::useAsyncLighting)
+            .put("org.spongepowered.common.mixin.optimization.world.MixinWorldServer_Entity_Spatial_Hash",
+                    OptimizationCategory::useEntitySpatialHash)
             .put("org.spongepowered.common.mixin.optimization.world.gen.MixinChunkProviderServer_Async_Lighting",
                     OptimizationCategory::useAsyncLighting)
             .put("org.spongepowered.common.mixin.optimization.world.gen.structure.MixinMapGenStructure_Structure_Saving",
@@ -0,0 +1,137 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.entityactivation;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The area around the players of a world that activates entities with a
+ * given activation range, built once per tick.
+ *
+ * <p>The area is tracked in chunk sized cells. Cells completely within range
+ * of a player activate every entity overlapping them with a single lookup,
+ * entities in cells at the edge of a range are checked against the players
+ * reaching into the cell.</p>
+ */
+final class ActivationGrid {
+
+    // Players activate entities across the whole height of the world while they are within it
+    private static final int VERTICAL_RANGE = 256;
+    private static final int WORLD_HEIGHT = 256;
+
+    private final int range;
+    private final List<AxisAlignedBB> players;
+    private final LongSet coveredCells = new LongOpenHashSet();
+    private final Long2ObjectMap<List<AxisAlignedBB>> edgeCells = new Long2ObjectOpenHashMap<>();
+
+    ActivationGrid(int range, List<AxisAlignedBB> players) {
+        this.range = range;
+        this.players = players;
+        for (AxisAlignedBB player : players) {
+            final double minX = player.minX - range;
+            final double maxX = player.maxX + range;
+            final double minZ = player.minZ - range;
+            final double maxZ = player.maxZ + range;
+            final boolean coversHeight = player.minY <= WORLD_HEIGHT && player.maxY >= 0;
+            final int minCellX = MathHelper.floor(minX) >> 4;
+            final int maxCellX = MathHelper.floor(maxX) >> 4;
+            final int minCellZ = MathHelper.floor(minZ) >> 4;
+            final int maxCellZ = MathHelper.floor(maxZ) >> 4;
+            for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                    final long cell = ChunkPos.asLong(cellX, cellZ);
+                    if (coversHeight && (cellX << 4) > minX && (cellX << 4) + 16 <= maxX && (cellZ << 4) > minZ && (cellZ << 4) + 16 <= maxZ) {
+                        this.coveredCells.add(cell);
+                    } else {
+                        List<AxisAlignedBB> cellPlayers = this.edgeCells.get(cell);
+                        if (cellPlayers == null) {
+                            cellPlayers = new ArrayList<>(4);
+                            this.edgeCells.put(cell, cellPlayers);
+                        }
+                        cellPlayers.add(player);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether an entity with the given bounding box is within range of
+     * a player, the same as intersecting the player's bounding box grown by
+     * the range.
+     *
+     * @param box The bounding box of the entity
+     * @return Whether the entity is within range
+     */
+    boolean isInRange(AxisAlignedBB box) {
+        if (box.maxY <= 0 || box.minY >= WORLD_HEIGHT) {
+            // Rare enough, covered cells only hold for entities within the height of the world
+            for (AxisAlignedBB player : this.players) {
+                if (this.intersects(box, player)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        final int minCellX = MathHelper.floor(box.minX) >> 4;
+        final int maxCellX = MathHelper.floor(box.maxX) >> 4;
+        final int minCellZ = MathHelper.floor(box.minZ) >> 4;
+        final int maxCellZ = MathHelper.floor(box.maxZ) >> 4;
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                final long cell = ChunkPos.asLong(cellX, cellZ);
+                // A covered cell lies within the grown box of a player, so any box overlapping it intersects that box
+                if (this.coveredCells.contains(cell)) {
+                    return true;
+                }
+                final List<AxisAlignedBB> players = this.edgeCells.get(cell);
+                if (players == null) {
+                    continue;
+                }
+                for (AxisAlignedBB player : players) {
+                    if (this.intersects(box, player)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean intersects(AxisAlignedBB box, AxisAlignedBB player) {
+        return box.maxX > player.minX - this.range && box.minX < player.maxX + this.range
+                && box.maxY > player.minY - VERTICAL_RANGE && box.minY < player.maxY + VERTICAL_RANGE
+                && box.maxZ > player.minZ - this.range && box.minZ < player.maxZ + this.range;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.entityactivation;
+
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.AdaptiveActivationCategory;
+
+/**
+ * Tracks how far activation of a world is scaled back from its configured
+ * values because of server load.
+ *
+ * <p>The load rises by a step whenever the average tick time of the last
+ * 100 ticks is above the target, and falls by a step once it is below 80%
+ * of the target, so ranges don't flap around the target.</p>
+ */
+public final class AdaptiveActivation {
+
+    private static final double RESTORE_THRESHOLD = 0.8D;
+
+    /**
+     * An adaptive activation that always uses the configured values.
+     */
+    public static final AdaptiveActivation DISABLED = new AdaptiveActivation(false);
+
+    private final boolean enabled;
+    private double load;
+    private long lastAdjustTick;
+
+    public AdaptiveActivation() {
+        this(true);
+    }
+
+    private AdaptiveActivation(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Adjusts the load if the configured interval has passed.
+     *
+     * @param config The adaptive activation config of the world
+     * @param currentTick The current tick
+     */
+    public void update(AdaptiveActivationCategory config, long currentTick) {
+        if (!this.enabled) {
+            return;
+        }
+        if (!config.isEnabled()) {
+            this.load = 0;
+            return;
+        }
+        if (currentTick - this.lastAdjustTick < Math.max(1, config.getAdjustInterval())) {
+            return;
+        }
+        this.lastAdjustTick = currentTick;
+        final double mspt = getAverageTickTime();
+        if (mspt > config.getTargetMspt()) {
+            this.load = Math.min(1.0D, this.load + config.getAdjustStep());
+        } else if (mspt < config.getTargetMspt() * RESTORE_THRESHOLD) {
+            this.load = Math.max(0.0D, this.load - config.getAdjustStep());
+        }
+    }
+
+    /**
+     * Gets how far activation is scaled back, from 0 for the configured values
+     * to 1 for the configured bounds.
+     *
+     * @return The load
+     */
+    public double getLoad() {
+        return this.load;
+    }
+
+    /**
+     * Shrinks an activation range towards its minimum by the current load.
+     *
+     * @param range The configured range
+     * @param minimumRange The smallest range to shrink to
+     * @return The range to use
+     */
+    public int scaleRange(int range, int minimumRange) {
+        if (this.load == 0 || range <= minimumRange) {
+            return range;
+        }
+        return range - (int) Math.round((range - minimumRange) * this.load);
+    }
+
+    private static double getAverageTickTime() {
+        final long[] tickTimes = SpongeImpl.getServer().tickTimeArray;
+        long total = 0;
+        for (long tickTime : tickTimes) {
+            total += tickTime;
+        }
+        return total / (double) tickTimes.length * 1.0e-6D;
+    }
+}
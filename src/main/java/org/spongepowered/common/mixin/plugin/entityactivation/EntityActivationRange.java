@@ -28,6 +28,11 @@
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.EntityLivingBase;
@@ -51,6 +56,7 @@
 import net.minecraft.entity.projectile.EntityFireball;
 import net.minecraft.entity.projectile.EntityThrowable;
 import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
@@ -72,6 +78,8 @@
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 public class EntityActivationRange {
@@ -84,12 +92,6 @@ public class EntityActivationRange {
             .put((byte) 5, "misc")
             .build();
 
-    static AxisAlignedBB maxBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB miscBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB creatureBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB monsterBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB aquaticBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB ambientBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
     static AxisAlignedBB tileEntityBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
     static Map<Byte, Integer> maxActivationRanges = Maps.newHashMap();
 
@@ -217,52 +219,95 @@ public static void growBb(AxisAlignedBB target, AxisAlignedBB source, int x, int
      * @param world The world to perform activation checks in
      */
     public static void activateEntities(World world) {
-        if (((IMixinWorld) world).isFake()) {
+        activateEntities(world, AdaptiveActivation.DISABLED);
+    }
+
+    /**
+     * Find what entities are in range of the players in the world and set
+     * active if in range.
+     *
+     * <p>Every entity near a player is checked once, against a grid of the
+     * area around all players for its activation range, so players close to
+     * each other don't check the same entities again.</p>
+     *
+     * <p>While the server is overloaded, ranges are shrunk towards the
+     * configured minimum ranges by the given adaptive activation.</p>
+     *
+     * @param world The world to perform activation checks in
+     * @param adaptive The adaptive activation of the world
+     */
+    public static void activateEntities(World world, AdaptiveActivation adaptive) {
+        if (((IMixinWorld) world).isFake() || world.playerEntities.isEmpty()) {
             return;
         }
 
-        for (EntityPlayer player : world.playerEntities) {
-
-            int maxRange = 0;
-            for (Integer range : maxActivationRanges.values()) {
-                if (range > maxRange) {
-                    maxRange = range;
-                }
+        int maxRange = 0;
+        for (Integer range : maxActivationRanges.values()) {
+            if (range > maxRange) {
+                maxRange = range;
             }
+        }
+        maxRange = Math.min((SpongeImpl.getServer().getPlayerList().getViewDistance() << 4) - 8, maxRange);
+
+        final long currentTick = SpongeImpl.getServer().getTickCounter();
+        final EntityActivationRangeCategory config = ((IMixinWorldServer) world).getActiveConfig().getConfig().getEntityActivationRange();
+        adaptive.update(config.getAdaptive(), currentTick);
+        // Indexed by activation type
+        final int[] minimumRanges = new int[activationTypeMappings.size() + 1];
+        if (adaptive.getLoad() > 0) {
+            for (Map.Entry<Byte, String> mapping : activationTypeMappings.entrySet()) {
+                final Integer minimumRange = config.getMinimumRanges().get(mapping.getValue());
+                minimumRanges[mapping.getKey()] = minimumRange == null ? 0 : minimumRange;
+            }
+        }
+        final List<AxisAlignedBB> players = new ArrayList<>(world.playerEntities.size());
+        final LongSet chunks = new LongOpenHashSet();
+        for (EntityPlayer player : world.playerEntities) {
+            ((IModData_Activation) player).setActivatedTick(currentTick);
+            final AxisAlignedBB playerBB = player.getEntityBoundingBox();
+            players.add(playerBB);
 
-            maxRange = Math.min((SpongeImpl.getServer().getPlayerList().getViewDistance() << 4) - 8, maxRange);
-            ((IModData_Activation) player).setActivatedTick(SpongeImpl.getServer().getTickCounter());
-            growBb(maxBB, player.getEntityBoundingBox(), maxRange, 256, maxRange);
-
-            int i = MathHelper.floor(maxBB.minX / 16.0D);
-            int j = MathHelper.floor(maxBB.maxX / 16.0D);
-            int k = MathHelper.floor(maxBB.minZ / 16.0D);
-            int l = MathHelper.floor(maxBB.maxZ / 16.0D);
+            int i = MathHelper.floor((playerBB.minX - maxRange) / 16.0D);
+            int j = MathHelper.floor((playerBB.maxX + maxRange) / 16.0D);
+            int k = MathHelper.floor((playerBB.minZ - maxRange) / 16.0D);
+            int l = MathHelper.floor((playerBB.maxZ + maxRange) / 16.0D);
 
             for (int i1 = i; i1 <= j; ++i1) {
                 for (int j1 = k; j1 <= l; ++j1) {
-                    WorldServer worldserver = (WorldServer) world;
-                    Chunk chunk = ((IMixinChunkProviderServer) worldserver.getChunkProvider()).getLoadedChunkWithoutMarkingActive(i1, j1);
-                    if (chunk != null) {
-                        activateChunkEntities(player, chunk);
-                    }
+                    chunks.add(ChunkPos.asLong(i1, j1));
                 }
             }
         }
+
+        final IMixinChunkProviderServer chunkProvider = (IMixinChunkProviderServer) ((WorldServer) world).getChunkProvider();
+        final Int2ObjectMap<ActivationGrid> grids = new Int2ObjectOpenHashMap<>();
+        final LongIterator iterator = chunks.iterator();
+        while (iterator.hasNext()) {
+            final long chunkPos = iterator.nextLong();
+            final Chunk chunk = chunkProvider.getLoadedChunkWithoutMarkingActive((int) chunkPos, (int) (chunkPos >> 32));
+            if (chunk != null) {
+                activateChunkEntities(chunk, players, grids, adaptive, minimumRanges, currentTick);
+            }
+        }
     }
 
     /**
      * Checks for the activation state of all entities in this chunk.
      *
      * @param chunk Chunk to check for activation
+     * @param players The bounding boxes of the players in the world
+     * @param grids The activation grids built this tick, by range
+     * @param adaptive The adaptive activation of the world
+     * @param minimumRanges The minimum ranges, by activation type
+     * @param currentTick The current tick
      */
-    private static void activateChunkEntities(EntityPlayer player, Chunk chunk) {
+    private static void activateChunkEntities(Chunk chunk, List<AxisAlignedBB> players, Int2ObjectMap<ActivationGrid> grids,
+            AdaptiveActivation adaptive, int[] minimumRanges, long currentTick) {
         for (int i = 0; i < chunk.getEntityLists().length; ++i) {
 
             for (Object o : chunk.getEntityLists()[i]) {
                 Entity entity = (Entity) o;
                 EntityType type = ((org.spongepowered.api.entity.Entity) entity).getType();
-                long currentTick = SpongeImpl.getServer().getTickCounter();
                 if (type == EntityTypes.UNKNOWN) {
                     ((IModData_Activation) entity).setActivatedTick(currentTick);
                     continue;
@@ -281,47 +326,16 @@ private static void activateChunkEntities(EntityPlayer player, Chunk chunk) {
                         spongeEntity.requiresActivationCacheRefresh(false);
                     }
                     // check for entity type overrides
-                    byte activationType = ((IModData_Activation) entity).getActivationType();
-                    int bbActivationRange = ((IModData_Activation) entity).getActivationRange();
-
-                    if (activationType == 5) {
-                        growBb(miscBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 4) {
-                        growBb(ambientBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 3) {
-                        growBb(aquaticBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 2) {
-                        growBb(creatureBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else {
-                        growBb(monsterBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
+                    final int bbActivationRange = adaptive.scaleRange(spongeEntity.getActivationRange(),
+                            minimumRanges[spongeEntity.getActivationType()]);
+                    ActivationGrid grid = grids.get(bbActivationRange);
+                    if (grid == null) {
+                        grid = new ActivationGrid(bbActivationRange, players);
+                        grids.put(bbActivationRange, grid);
                     }
 
-                    switch (((IModData_Activation) entity).getActivationType()) {
-                        case 1:
-                            if (monsterBB.intersects(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 2:
-                            if (creatureBB.intersects(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 3:
-                            if (aquaticBB.intersects(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 4:
-                            if (ambientBB.intersects(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 5:
-                        default:
-                            if (miscBB.intersects(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
+                    if (grid.isInRange(entity.getEntityBoundingBox())) {
+                        spongeEntity.setActivatedTick(currentTick);
                     }
                 }
             }
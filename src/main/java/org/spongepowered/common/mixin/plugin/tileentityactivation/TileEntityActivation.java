@@ -45,6 +45,7 @@
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.block.tile.IMixinTileEntity;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+import org.spongepowered.common.mixin.plugin.entityactivation.AdaptiveActivation;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
 import org.spongepowered.common.util.VecHelper;
 
@@ -110,6 +111,23 @@ public static boolean initializeTileEntityActivationState(TileEntity tileEntity)
     * @param world The world to perform activation checks in
     */
     public static void activateTileEntities(WorldServer world) {
+        activateTileEntities(world, AdaptiveActivation.DISABLED);
+    }
+
+    /**
+    * Find what tileentities are in range of the players in the world and set
+    * active if in range.
+    *
+    * <p>While the server is overloaded, ranges are shrunk towards the
+    * configured minimum range by the given adaptive activation.</p>
+    *
+    * @param world The world to perform activation checks in
+    * @param adaptive The adaptive activation of the world
+    */
+    public static void activateTileEntities(WorldServer world, AdaptiveActivation adaptive) {
+        final TileEntityActivationCategory config = ((IMixinWorldServer) world).getActiveConfig().getConfig().getTileEntityActivationRange();
+        adaptive.update(config.getAdaptive(), SpongeImpl.getServer().getTickCounter());
+        final int minimumRange = config.getMinimumBlockRange();
         final PlayerChunkMap playerChunkMap = world.getPlayerChunkMap();
         for (PlayerChunkMapEntry playerChunkMapEntry : playerChunkMap.entries) {
             for (EntityPlayer player : playerChunkMapEntry.players) {
@@ -118,7 +136,7 @@ public static void activateTileEntities(WorldServer world) {
                     continue;
                 }
 
-                activateChunkTileEntities(player, chunk);
+                activateChunkTileEntities(player, chunk, adaptive, minimumRange);
             }
         }
     }
@@ -128,8 +146,10 @@ public static void activateTileEntities(WorldServer world) {
      * Checks for the activation state of all tileentities in this chunk.
      *
      * @param chunk Chunk to check for activation
+     * @param adaptive The adaptive activation of the world
+     * @param minimumRange The smallest range to shrink to
      */
-    private static void activateChunkTileEntities(EntityPlayer player, Chunk chunk) {
+    private static void activateChunkTileEntities(EntityPlayer player, Chunk chunk, AdaptiveActivation adaptive, int minimumRange) {
         final Vector3i playerPos = VecHelper.toVector3i(player.getPosition());
         final long currentTick = SpongeImpl.getServer().getTickCounter();
         for (Map.Entry<BlockPos, TileEntity> mapEntry : chunk.getTileEntityMap().entrySet()) {
@@ -153,7 +173,7 @@ private static void activateChunkTileEntities(EntityPlayer player, Chunk chunk)
                     spongeEntity.requiresActivationCacheRefresh(false);
                 }
 
-                int bbActivationRange = ((IModData_Activation) tileEntity).getActivationRange();
+                int bbActivationRange = adaptive.scaleRange(((IModData_Activation) tileEntity).getActivationRange(), minimumRange);
                 int blockDistance = Math.round(tilePos.distance(playerPos));
                 if (blockDistance <= bbActivationRange) {
                     ((IModData_Activation) tileEntity).setActivatedTick(currentTick);
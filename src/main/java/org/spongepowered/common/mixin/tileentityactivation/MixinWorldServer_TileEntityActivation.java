@@ -29,15 +29,18 @@
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.mixin.core.world.MixinWorld;
+import org.spongepowered.common.mixin.plugin.entityactivation.AdaptiveActivation;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
 import org.spongepowered.common.mixin.plugin.tileentityactivation.TileEntityActivation;
 
 @Mixin(value = WorldServer.class, priority = 1300)
 public abstract class MixinWorldServer_TileEntityActivation extends MixinWorld {
 
+    private final AdaptiveActivation adaptiveActivation = new AdaptiveActivation();
+
     @Override
     protected void spongeTileEntityActivation() {
-        TileEntityActivation.activateTileEntities((WorldServer) (Object) this);
+        TileEntityActivation.activateTileEntities((WorldServer) (Object) this, this.adaptiveActivation);
     }
 
     // TODO 1.12-pre2 I have no fucking clue what this injection is trying to target
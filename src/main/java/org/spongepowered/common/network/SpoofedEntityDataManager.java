@@ -76,7 +76,10 @@ public boolean isDirty() {
     @Nullable
     @Override
     public List<DataEntry<?>> getDirty() {
-         final List<DataEntry<?>> dirtyEntries = this.cached.getDirty();
+        final List<DataEntry<?>> dirtyEntries = this.cached.getDirty();
+        if (dirtyEntries == null) {
+            return null;
+        }
         final List<DataEntry<?>> dirty = new ArrayList<>(dirtyEntries.size());
         for (DataEntry<?> dataEntry : dirtyEntries) {
             if (dataEntry.getKey() == EntityLivingBase.HEALTH) {
@@ -0,0 +1,159 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.MathHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A uniform grid of the entities of a world by position, so range queries
+ * only look at entities in the cells they overlap instead of walking every
+ * entity of the chunk sections around them.
+ *
+ * <p>Like the entity lists of chunks, the cell of an entity is updated after
+ * it ticked. Only accessed by the main thread.</p>
+ */
+public final class EntitySpatialHash {
+
+    // 8 block cubes
+    private static final int CELL_SHIFT = 3;
+
+    private final Long2ObjectMap<List<Entity>> cells = new Long2ObjectOpenHashMap<>();
+    private final Object2LongMap<Entity> entityCells = new Object2LongOpenHashMap<>();
+
+    private static long getCell(int cellX, int cellY, int cellZ) {
+        return ((long) (cellX & 0xFFFFFF) << 40) | ((long) (cellY & 0xFFFF) << 24) | (cellZ & 0xFFFFFF);
+    }
+
+    private static long getCell(Entity entity) {
+        return getCell(MathHelper.floor(entity.posX) >> CELL_SHIFT, MathHelper.floor(entity.posY) >> CELL_SHIFT,
+                MathHelper.floor(entity.posZ) >> CELL_SHIFT);
+    }
+
+    public void add(Entity entity) {
+        if (this.entityCells.containsKey(entity)) {
+            this.update(entity);
+            return;
+        }
+        final long cell = getCell(entity);
+        this.entityCells.put(entity, cell);
+        this.addToCell(cell, entity);
+    }
+
+    public void remove(Entity entity) {
+        if (this.entityCells.containsKey(entity)) {
+            this.removeFromCell(this.entityCells.removeLong(entity), entity);
+        }
+    }
+
+    /**
+     * Moves the entity to the cell of its current position.
+     *
+     * @param entity The entity
+     */
+    public void update(Entity entity) {
+        if (!this.entityCells.containsKey(entity)) {
+            return;
+        }
+        final long cell = getCell(entity);
+        final long oldCell = this.entityCells.put(entity, cell);
+        if (oldCell != cell) {
+            this.removeFromCell(oldCell, entity);
+            this.addToCell(cell, entity);
+        }
+    }
+
+    public int size() {
+        return this.entityCells.size();
+    }
+
+    private void addToCell(long cell, Entity entity) {
+        List<Entity> entities = this.cells.get(cell);
+        if (entities == null) {
+            entities = new ArrayList<>(4);
+            this.cells.put(cell, entities);
+        }
+        entities.add(entity);
+    }
+
+    private void removeFromCell(long cell, Entity entity) {
+        final List<Entity> entities = this.cells.get(cell);
+        if (entities != null && entities.remove(entity) && entities.isEmpty()) {
+            this.cells.remove(cell);
+        }
+    }
+
+    /**
+     * Adds every entity that may intersect the given area to the list.
+     *
+     * <p>Like chunk queries, the area is grown by the maximum entity radius of
+     * the world to find entities positioned outside of it, candidates still
+     * need to be checked against the area.</p>
+     *
+     * @param area The area
+     * @param radius The maximum entity radius of the world
+     * @param candidates The list to add the candidates to
+     */
+    public void collectCandidates(AxisAlignedBB area, double radius, List<Entity> candidates) {
+        final int minX = MathHelper.floor(area.minX - radius) >> CELL_SHIFT;
+        final int minY = MathHelper.floor(area.minY - radius) >> CELL_SHIFT;
+        final int minZ = MathHelper.floor(area.minZ - radius) >> CELL_SHIFT;
+        final int maxX = MathHelper.floor(area.maxX + radius) >> CELL_SHIFT;
+        final int maxY = MathHelper.floor(area.maxY + radius) >> CELL_SHIFT;
+        final int maxZ = MathHelper.floor(area.maxZ + radius) >> CELL_SHIFT;
+        final long cellCount = (maxX - minX + 1L) * (maxY - minY + 1L) * (maxZ - minZ + 1L);
+        if (cellCount > this.cells.size()) {
+            // Large area, cheaper to go through the occupied cells
+            for (Long2ObjectMap.Entry<List<Entity>> entry : this.cells.long2ObjectEntrySet()) {
+                final long cell = entry.getLongKey();
+                final int cellX = (int) (cell >> 40);
+                final int cellY = (short) (cell >> 24);
+                final int cellZ = (int) (cell << 40 >> 40);
+                if (cellX >= minX && cellX <= maxX && cellY >= minY && cellY <= maxY && cellZ >= minZ && cellZ <= maxZ) {
+                    candidates.addAll(entry.getValue());
+                }
+            }
+            return;
+        }
+        for (int cellX = minX; cellX <= maxX; cellX++) {
+            for (int cellY = minY; cellY <= maxY; cellY++) {
+                for (int cellZ = minZ; cellZ <= maxZ; cellZ++) {
+                    final List<Entity> entities = this.cells.get(getCell(cellX, cellY, cellZ));
+                    if (entities != null) {
+                        candidates.addAll(entities);
+                    }
+                }
+            }
+        }
+    }
+}
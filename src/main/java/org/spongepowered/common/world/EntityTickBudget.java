@@ -0,0 +1,216 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import com.google.common.annotations.VisibleForTesting;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityList;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.common.config.category.EntityCategory;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Limits the number of entities ticked per chunk, and per entity type within
+ * a chunk, each tick. Entities over a limit are deferred, and the entities
+ * allowed to tick rotate each tick so every entity of a crowded chunk still
+ * ticks once every few ticks instead of only the first ones in the list.
+ *
+ * <p>Limits are read from the {@link EntityCategory} of the world at the
+ * start of every tick.</p>
+ */
+public final class EntityTickBudget {
+
+    private final WorldServer world;
+    private final Long2ObjectMap<ChunkBudget> chunks = new Long2ObjectOpenHashMap<>();
+    private final Object2IntMap<Class<? extends Entity>> typeLimits = new Object2IntOpenHashMap<>();
+    private long currentTick = Long.MIN_VALUE;
+    private int chunkLimit;
+    private Map<String, Integer> configuredTypeLimits = new HashMap<>();
+
+    public EntityTickBudget(WorldServer world) {
+        this.world = world;
+        this.typeLimits.defaultReturnValue(-1);
+    }
+
+    /**
+     * Gets whether the entity is within the budgets of this tick, deferring
+     * it otherwise.
+     *
+     * @param entity The entity about to tick
+     * @return Whether the entity should tick
+     */
+    public boolean tryTick(Entity entity) {
+        final long tick = this.world.getTotalWorldTime();
+        if (tick != this.currentTick) {
+            this.startTick(tick);
+        }
+        if (entity instanceof EntityPlayer || (this.chunkLimit <= 0 && this.configuredTypeLimits.isEmpty())) {
+            return true;
+        }
+        final int typeLimit = this.getTypeLimit(entity.getClass());
+        if (this.chunkLimit <= 0 && typeLimit <= 0) {
+            return true;
+        }
+
+        final long key = ChunkPos.asLong(entity.chunkCoordX, entity.chunkCoordZ);
+        ChunkBudget chunk = this.chunks.get(key);
+        if (chunk == null) {
+            chunk = new ChunkBudget();
+            this.chunks.put(key, chunk);
+        }
+        Budget typeBudget = null;
+        if (typeLimit > 0) {
+            typeBudget = chunk.types.get(entity.getClass());
+            if (typeBudget == null) {
+                typeBudget = new Budget();
+                chunk.types.put(entity.getClass(), typeBudget);
+            }
+            if (!typeBudget.next(typeLimit)) {
+                return false;
+            }
+        }
+        if (this.chunkLimit > 0 && !chunk.total.next(this.chunkLimit)) {
+            return false;
+        }
+        if (typeBudget != null) {
+            typeBudget.onTicked();
+        }
+        chunk.total.onTicked();
+        return true;
+    }
+
+    private void startTick(long tick) {
+        this.currentTick = tick;
+        final EntityCategory config = ((IMixinWorldServer) this.world).getActiveConfig().getConfig().getEntity();
+        this.chunkLimit = config.getMaxTicksPerChunk();
+        if (this.configuredTypeLimits != config.getMaxTicksPerType()) {
+            // Config was reloaded
+            this.configuredTypeLimits = config.getMaxTicksPerType();
+            this.typeLimits.clear();
+        }
+
+        final ObjectIterator<ChunkBudget> iterator = this.chunks.values().iterator();
+        while (iterator.hasNext()) {
+            if (!iterator.next().rotate()) {
+                // No entities were ticked in the chunk last tick
+                iterator.remove();
+            }
+        }
+    }
+
+    private int getTypeLimit(Class<? extends Entity> entityClass) {
+        int limit = this.typeLimits.getInt(entityClass);
+        if (limit == -1) {
+            final ResourceLocation key = EntityList.getKey(entityClass);
+            final Integer configured = key == null ? null : this.configuredTypeLimits.get(key.toString());
+            limit = configured == null ? 0 : Math.max(0, configured);
+            this.typeLimits.put(entityClass, limit);
+        }
+        return limit;
+    }
+
+    private static final class ChunkBudget {
+
+        final Budget total = new Budget();
+        final Map<Class<? extends Entity>, Budget> types = new HashMap<>();
+
+        boolean rotate() {
+            boolean used = this.total.rotate();
+            final Iterator<Budget> iterator = this.types.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().rotate()) {
+                    used = true;
+                } else {
+                    iterator.remove();
+                }
+            }
+            return used;
+        }
+    }
+
+    @VisibleForTesting
+    static final class Budget {
+
+        private int seen;
+        private int ticked;
+        private int lastSeen;
+        private int start;
+        // The entity last counted by next and where the ticked entities of this tick end
+        private int current;
+        private int windowEnd = -1;
+        private int nextStart;
+
+        /**
+         * Counts the next entity and gets whether it is within the window of
+         * entities allowed to tick. The window starts where the previous tick
+         * stopped, so deferred entities are the first to tick next.
+         */
+        boolean next(int limit) {
+            this.current = this.seen++;
+            if (this.ticked >= limit) {
+                return false;
+            }
+            return this.lastSeen <= limit || Math.floorMod(this.current - this.start, this.lastSeen) < limit;
+        }
+
+        /**
+         * Marks the entity last counted by {@link #next(int)} as ticked.
+         */
+        void onTicked() {
+            this.ticked++;
+            final int offset = this.lastSeen == 0 ? this.current : Math.floorMod(this.current - this.start, this.lastSeen);
+            if (offset > this.windowEnd) {
+                this.windowEnd = offset;
+                this.nextStart = this.current + 1;
+            }
+        }
+
+        boolean rotate() {
+            final boolean used = this.seen > 0;
+            // Continue after the last entity that ticked rather than after as many entities as ticked, if entities
+            // were removed the window may have extended past the end of the list and ticked fewer of them
+            final int nextStart = this.windowEnd == -1 ? this.start : this.nextStart;
+            this.start = used ? nextStart % this.seen : 0;
+            this.lastSeen = this.seen;
+            this.seen = 0;
+            this.ticked = 0;
+            this.windowEnd = -1;
+            this.nextStart = 0;
+            return used;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import org.spongepowered.common.interfaces.entity.player.IMixinEntityPlayer;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps track of the chunks within the mob spawn range of the players of a
+ * world, so only players that moved to another chunk have to be looked at
+ * each spawner tick.
+ *
+ * <p>Chunks are counted once for every player in range, which is what the
+ * mob limits are scaled by. Chunks on the edge of the range of a player are
+ * never spawned in for that player.</p>
+ */
+public final class SpawnChunkTracker {
+
+    private final Long2IntOpenHashMap coveredChunks = new Long2IntOpenHashMap();
+    private final Long2IntOpenHashMap innerChunks = new Long2IntOpenHashMap();
+    private final Map<EntityPlayer, PlayerArea> areas = new HashMap<>();
+    private int range = -1;
+    private int updateCount;
+
+    /**
+     * Updates the chunks for the current positions of the players.
+     *
+     * @param players The players of the world
+     * @param range The mob spawn range, in chunks
+     */
+    public void update(List<EntityPlayer> players, int range) {
+        if (range != this.range) {
+            this.clear();
+            this.range = range;
+        }
+        final int updateCount = ++this.updateCount;
+
+        for (EntityPlayer player : players) {
+            PlayerArea area = this.areas.get(player);
+            // We treat players who do not affect spawning as "spectators"
+            if (!((IMixinEntityPlayer) player).affectsSpawning() || player.isSpectator()) {
+                if (area != null) {
+                    this.areas.remove(player);
+                    this.removeArea(area);
+                }
+                continue;
+            }
+
+            final int chunkX = MathHelper.floor(player.posX / 16.0D);
+            final int chunkZ = MathHelper.floor(player.posZ / 16.0D);
+            if (area == null) {
+                area = new PlayerArea(chunkX, chunkZ);
+                this.areas.put(player, area);
+                this.addArea(area);
+            } else if (area.chunkX != chunkX || area.chunkZ != chunkZ) {
+                this.removeArea(area);
+                area.chunkX = chunkX;
+                area.chunkZ = chunkZ;
+                this.addArea(area);
+            }
+            area.updateCount = updateCount;
+        }
+
+        final Iterator<PlayerArea> iterator = this.areas.values().iterator();
+        while (iterator.hasNext()) {
+            final PlayerArea area = iterator.next();
+            if (area.updateCount != updateCount) {
+                // Player left the world
+                iterator.remove();
+                this.removeArea(area);
+            }
+        }
+    }
+
+    /**
+     * Removes the spawn range of a player that left the world.
+     *
+     * @param player The player
+     */
+    public void remove(EntityPlayer player) {
+        final PlayerArea area = this.areas.remove(player);
+        if (area != null) {
+            this.removeArea(area);
+        }
+    }
+
+    public void clear() {
+        this.areas.clear();
+        this.coveredChunks.clear();
+        this.innerChunks.clear();
+    }
+
+    /**
+     * Gets the chunks within the range of any player, mapped to the number
+     * of players they are in range of.
+     *
+     * <p>Keys are {@link ChunkPos#asLong(int, int)} of the chunks.</p>
+     *
+     * @return The chunks in range
+     */
+    public Long2IntMap getCoveredChunks() {
+        return this.coveredChunks;
+    }
+
+    /**
+     * Gets whether the chunk is in range of a player and not on the edge of
+     * that range.
+     *
+     * @param chunk The chunk key
+     * @return Whether mobs may be spawned in the chunk
+     */
+    public boolean isInnerChunk(long chunk) {
+        return this.innerChunks.containsKey(chunk);
+    }
+
+    private void addArea(PlayerArea area) {
+        for (int x = -this.range; x <= this.range; x++) {
+            for (int z = -this.range; z <= this.range; z++) {
+                final long chunk = ChunkPos.asLong(area.chunkX + x, area.chunkZ + z);
+                this.coveredChunks.addTo(chunk, 1);
+                if (x != -this.range && x != this.range && z != -this.range && z != this.range) {
+                    this.innerChunks.addTo(chunk, 1);
+                }
+            }
+        }
+    }
+
+    private void removeArea(PlayerArea area) {
+        for (int x = -this.range; x <= this.range; x++) {
+            for (int z = -this.range; z <= this.range; z++) {
+                final long chunk = ChunkPos.asLong(area.chunkX + x, area.chunkZ + z);
+                if (this.coveredChunks.addTo(chunk, -1) == 1) {
+                    this.coveredChunks.remove(chunk);
+                }
+                if (x != -this.range && x != this.range && z != -this.range && z != this.range && this.innerChunks.addTo(chunk, -1) == 1) {
+                    this.innerChunks.remove(chunk);
+                }
+            }
+        }
+    }
+
+    private static final class PlayerArea {
+
+        int chunkX;
+        int chunkZ;
+        int updateCount;
+
+        PlayerArea(int chunkX, int chunkZ) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+        }
+    }
+}
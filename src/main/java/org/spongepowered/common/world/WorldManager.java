@@ -51,6 +51,7 @@
 import net.minecraft.world.chunk.storage.AnvilSaveHandler;
 import net.minecraft.world.storage.ISaveHandler;
 import net.minecraft.world.storage.SaveHandler;
+import net.minecraft.world.storage.ThreadedFileIOBase;
 import net.minecraft.world.storage.WorldInfo;
 import org.spongepowered.api.GameState;
 import org.spongepowered.api.Sponge;
@@ -63,6 +64,7 @@
 import org.spongepowered.api.world.storage.WorldProperties;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.config.SpongeConfig;
+import org.spongepowered.common.config.category.WorldCategory;
 import org.spongepowered.common.data.util.DataUtil;
 import org.spongepowered.common.data.util.NbtDataUtil;
 import org.spongepowered.common.event.tracking.CauseTracker;
@@ -77,6 +79,7 @@
 import org.spongepowered.common.interfaces.world.IMixinWorldSettings;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.util.SpongeHooks;
+import org.spongepowered.common.world.storage.RegionRecompressor;
 
 import java.io.DataInputStream;
 import java.io.IOException;
@@ -100,9 +103,11 @@
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.Nullable;
 
@@ -122,6 +127,8 @@ public final class WorldManager {
     private static final BitSet dimensionBits = new BitSet(Long.SIZE << 4);
     private static final Map<WorldServer, WorldServer> weakWorldByWorld = new MapMaker().weakKeys().weakValues().concurrencyLevel(1).makeMap();
     private static final Queue<WorldServer> unloadQueue = new ArrayDeque<>();
+    // Folder names of worlds whose region files are being rewritten, they can't be loaded until done
+    private static final Set<String> recompressingWorlds = ConcurrentHashMap.newKeySet();
     private static final Comparator<WorldServer>
             WORLD_SERVER_COMPARATOR =
             (world1, world2) -> {
@@ -578,6 +585,11 @@ private static Optional<WorldServer> loadWorld(String worldName, @Nullable ISave
             return Optional.empty();
         }
 
+        if (recompressingWorlds.contains(worldName)) {
+            SpongeImpl.getLogger().error("Unable to load world [{}]. Its region files are being recompressed.", worldName);
+            return Optional.empty();
+        }
+
         final Path worldFolder = currentSavesDir.resolve(worldName);
         if (!Files.isDirectory(worldFolder)) {
             SpongeImpl.getLogger().error("Unable to load world [{}]. We cannot find its folder under [{}].", worldFolder, currentSavesDir);
@@ -1017,6 +1029,7 @@ public static Optional<WorldProperties> renameWorld(WorldProperties worldPropert
         checkNotNull(worldProperties);
         checkNotNull(newName);
         checkState(!worldByDimensionId.containsKey(((IMixinWorldInfo) worldProperties).getDimensionId()), "World is still loaded!");
+        checkState(!recompressingWorlds.contains(worldProperties.getWorldName()), "World is being recompressed!");
 
         final Path oldWorldFolder = getCurrentSavesDirectory().get().resolve(worldProperties.getWorldName());
         final Path newWorldFolder = oldWorldFolder.resolveSibling(newName);
@@ -1045,9 +1058,23 @@ public static CompletableFuture<Boolean> deleteWorld(WorldProperties worldProper
         checkNotNull(worldProperties);
         checkArgument(worldPropertiesByWorldUuid.containsKey(worldProperties.getUniqueId()), "World properties not registered!");
         checkState(!worldByDimensionId.containsKey(((IMixinWorldInfo) worldProperties).getDimensionId()), "World not unloaded!");
+        checkState(!recompressingWorlds.contains(worldProperties.getWorldName()), "World is being recompressed!");
         return SpongeImpl.getScheduler().submitAsyncTask(new DeleteWorldTask(worldProperties));
     }
 
+    public static CompletableFuture<RegionRecompressor.Result> recompressWorld(WorldProperties worldProperties) {
+        checkNotNull(worldProperties);
+        checkArgument(worldPropertiesByWorldUuid.containsKey(worldProperties.getUniqueId()), "World properties not registered!");
+        checkState(!worldByDimensionId.containsKey(((IMixinWorldInfo) worldProperties).getDimensionId()), "World not unloaded!");
+        checkState(recompressingWorlds.add(worldProperties.getWorldName()), "World is already being recompressed!");
+        try {
+            return SpongeImpl.getScheduler().submitAsyncTask(new RecompressWorldTask(worldProperties));
+        } catch (RuntimeException e) {
+            recompressingWorlds.remove(worldProperties.getWorldName());
+            throw e;
+        }
+    }
+
     private static class CopyWorldTask implements Callable<Optional<WorldProperties>> {
 
         private final WorldInfo oldInfo;
@@ -1101,6 +1128,35 @@ public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) th
         }
     }
 
+    private static class RecompressWorldTask implements Callable<RegionRecompressor.Result> {
+
+        private final WorldProperties props;
+
+        public RecompressWorldTask(WorldProperties props) {
+            this.props = props;
+        }
+
+        @Override
+        public RegionRecompressor.Result call() throws Exception {
+            try {
+                return this.recompress();
+            } finally {
+                recompressingWorlds.remove(this.props.getWorldName());
+            }
+        }
+
+        private RegionRecompressor.Result recompress() throws Exception {
+            final Path worldFolder = getCurrentSavesDirectory().get().resolve(this.props.getWorldName());
+            final WorldCategory config = SpongeHooks.getActiveConfig(((IMixinDimensionType) this.props.getDimensionType()).getConfigPath(),
+                    this.props.getWorldName()).getConfig().getWorld();
+            // Chunks saved while the world was unloading may not be written yet,
+            // this also waits for the chunk save stripes
+            ThreadedFileIOBase.getThreadedIOInstance().waitForFinish();
+            return RegionRecompressor.recompress(worldFolder, config.getChunkCompression(), config.getChunkCompressionLevel());
+        }
+
+    }
+
     private static class DeleteWorldTask implements Callable<Boolean> {
 
         private final WorldProperties props;
@@ -0,0 +1,207 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.lighting;
+
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.AsyncLightingCategory;
+import org.spongepowered.common.interfaces.IMixinChunk;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
+
+/**
+ * The work-stealing executor that runs the async light updates of all
+ * worlds.
+ *
+ * <p>Updates are queued per chunk, see {@link ChunkLightingQueue}, and
+ * idle threads pick up the queues of any world, so a busy world can use
+ * the whole pool.</p>
+ */
+public final class AsyncLightingExecutor {
+
+    // How many updates of a chunk are run before the thread moves on to other chunks
+    private static final int MAX_TASKS_PER_DRAIN = 64;
+
+    @Nullable private static AsyncLightingExecutor instance;
+
+    private final ForkJoinPool pool;
+    private final int maxQueuedUpdates;
+    private final AtomicInteger queuedUpdates = new AtomicInteger();
+    private final AtomicLong submittedChecks = new AtomicLong();
+    private final AtomicLong executedJobs = new AtomicLong();
+    private final LightingStatistics statistics = new LightingStatistics();
+
+    public static synchronized AsyncLightingExecutor getInstance() {
+        if (instance == null) {
+            final AsyncLightingCategory config = SpongeImpl.getGlobalConfig().getConfig().getOptimizations().getAsyncLightingCategory();
+            instance = new AsyncLightingExecutor(Math.max(1, config.getNumThreads()), config.getMaxQueuedUpdates());
+        }
+        return instance;
+    }
+
+    private AsyncLightingExecutor(int threads, int maxQueuedUpdates) {
+        final AtomicInteger threadId = new AtomicInteger();
+        this.pool = new ForkJoinPool(threads, pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("Sponge - Async Light Thread #" + threadId.getAndIncrement());
+            return thread;
+        }, (thread, throwable) -> SpongeImpl.getLogger().error("Exception in async light thread", throwable), true);
+        this.maxQueuedUpdates = maxQueuedUpdates;
+    }
+
+    /**
+     * Queues a light update of the given chunk.
+     *
+     * <p>If the backlog exceeds the configured limit and no other thread is
+     * working on the chunk, the calling thread runs a bounded number of the
+     * updates of the chunk itself and hands the rest to the pool.</p>
+     *
+     * @param chunk The chunk the update belongs to
+     * @param task The light update
+     */
+    public void execute(IMixinChunk chunk, Runnable task) {
+        this.execute(chunk, 1, task);
+    }
+
+    /**
+     * Queues a light job of the given chunk that performs several light
+     * checks at once.
+     *
+     * @param chunk The chunk the job belongs to
+     * @param checks The number of light checks the job was coalesced from
+     * @param task The light job
+     */
+    public void execute(IMixinChunk chunk, int checks, Runnable task) {
+        final ChunkLightingQueue queue = chunk.getLightingQueue();
+        this.submittedChecks.addAndGet(checks);
+        this.queuedUpdates.incrementAndGet();
+        queue.tasks.add(task);
+        if (!queue.scheduled.compareAndSet(false, true)) {
+            // Already being worked on, the owning thread will pick it up
+            return;
+        }
+        if (this.maxQueuedUpdates > 0 && this.queuedUpdates.get() > this.maxQueuedUpdates) {
+            this.drain(queue, MAX_TASKS_PER_DRAIN);
+        } else {
+            this.pool.execute(() -> this.drain(queue, MAX_TASKS_PER_DRAIN));
+        }
+    }
+
+    private void drain(ChunkLightingQueue queue, int maxTasks) {
+        int count = 0;
+        while (true) {
+            Runnable task;
+            while (count < maxTasks && (task = queue.tasks.poll()) != null) {
+                this.queuedUpdates.decrementAndGet();
+                count++;
+                this.executedJobs.incrementAndGet();
+                final long start = System.nanoTime();
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    SpongeImpl.getLogger().error("Exception during async light update", t);
+                }
+                this.statistics.record(System.nanoTime() - start);
+            }
+            if (count >= maxTasks && !queue.tasks.isEmpty()) {
+                if (!this.pool.isShutdown()) {
+                    // Give other chunks a turn, the queue stays owned until then
+                    this.pool.execute(() -> this.drain(queue, maxTasks));
+                    return;
+                }
+                // Nobody else is left to run them
+                count = 0;
+                continue;
+            }
+            queue.scheduled.set(false);
+            // An update may have been added after the last poll, but before the queue was released
+            if (queue.tasks.isEmpty() || !queue.scheduled.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    public int getThreadCount() {
+        return this.pool.getParallelism();
+    }
+
+    public int getQueuedUpdates() {
+        return this.queuedUpdates.get();
+    }
+
+    /**
+     * Gets the number of light checks submitted since startup, before they
+     * were coalesced into jobs.
+     *
+     * @return The submitted light checks
+     */
+    public long getSubmittedChecks() {
+        return this.submittedChecks.get();
+    }
+
+    /**
+     * Gets the number of light jobs run since startup.
+     *
+     * @return The executed light jobs
+     */
+    public long getExecutedJobs() {
+        return this.executedJobs.get();
+    }
+
+    public LightingStatistics getStatistics() {
+        return this.statistics;
+    }
+
+    public boolean isShutdown() {
+        return this.pool.isShutdown();
+    }
+
+    /**
+     * Shuts down the shared executor, if it was created. The next server
+     * started in this JVM creates a new one.
+     */
+    public static synchronized void shutdownInstance() {
+        if (instance != null) {
+            instance.shutdown();
+            instance = null;
+        }
+    }
+
+    private void shutdown() {
+        this.pool.shutdown();
+        try {
+            this.pool.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        } finally {
+            this.pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.lighting;
+
+import net.minecraft.world.EnumSkyBlock;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.Nullable;
+
+/**
+ * The light updates queued for a single chunk. At most one thread works on
+ * the queue of a chunk at a time, so updates to the same chunk never run
+ * concurrently and run in the order they were queued.
+ */
+public final class ChunkLightingQueue {
+
+    final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    // Whether a thread currently owns this queue, or a drain of it is scheduled
+    final AtomicBoolean scheduled = new AtomicBoolean();
+    // The batches collecting light checks this tick, per section. Only accessed by the main thread
+    private final LightUpdateBatch[] skyBatches = new LightUpdateBatch[16];
+    private final LightUpdateBatch[] blockBatches = new LightUpdateBatch[16];
+
+    public boolean isEmpty() {
+        return this.tasks.isEmpty();
+    }
+
+    @Nullable
+    public LightUpdateBatch getBatch(EnumSkyBlock lightType, int section) {
+        return (lightType == EnumSkyBlock.SKY ? this.skyBatches : this.blockBatches)[section];
+    }
+
+    public void setBatch(LightUpdateBatch batch) {
+        (batch.getLightType() == EnumSkyBlock.SKY ? this.skyBatches : this.blockBatches)[batch.getSection()] = batch;
+    }
+
+    public void removeBatch(LightUpdateBatch batch) {
+        final LightUpdateBatch[] batches = batch.getLightType() == EnumSkyBlock.SKY ? this.skyBatches : this.blockBatches;
+        if (batches[batch.getSection()] == batch) {
+            batches[batch.getSection()] = null;
+        }
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.lighting;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.chunk.Chunk;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * The state reused by a light thread for every light update it runs, so
+ * propagating light doesn't allocate.
+ *
+ * <p>Holds the primitive propagation queue, a mutable position for chunk
+ * lookups and the 3x3 chunk neighborhood around the chunk being updated,
+ * which is only ever accessed by the owning thread.</p>
+ */
+public final class LightPropagationContext {
+
+    private static final ThreadLocal<LightPropagationContext> CONTEXT = ThreadLocal.withInitial(LightPropagationContext::new);
+
+    // Same size as vanilla's World#lightUpdateBlockList, entries are packed relative to the updated position
+    public final int[] queue = new int[32768];
+    public final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+    private final Chunk[] chunks = new Chunk[9];
+    private int centerX;
+    private int centerZ;
+
+    public static LightPropagationContext get() {
+        return CONTEXT.get();
+    }
+
+    private LightPropagationContext() {
+    }
+
+    /**
+     * Sets the chunk being updated and its surrounding chunks.
+     *
+     * @param center The chunk being updated
+     * @param neighbors The loaded neighbors of the chunk, including diagonals
+     */
+    public void setNeighborhood(Chunk center, List<Chunk> neighbors) {
+        this.centerX = center.x;
+        this.centerZ = center.z;
+        this.chunks[4] = center;
+        for (Chunk neighbor : neighbors) {
+            final int dx = neighbor.x - this.centerX;
+            final int dz = neighbor.z - this.centerZ;
+            if (dx >= -1 && dx <= 1 && dz >= -1 && dz <= 1) {
+                this.chunks[(dx + 1) + (dz + 1) * 3] = neighbor;
+            }
+        }
+    }
+
+    /**
+     * Gets the chunk containing the given block from the neighborhood.
+     *
+     * @param blockX The block x coordinate
+     * @param blockZ The block z coordinate
+     * @return The chunk, or null if outside the neighborhood, not loaded or
+     *     queued for unload
+     */
+    @Nullable
+    public Chunk getChunk(int blockX, int blockZ) {
+        final int dx = (blockX >> 4) - this.centerX;
+        final int dz = (blockZ >> 4) - this.centerZ;
+        if (dx < -1 || dx > 1 || dz < -1 || dz > 1) {
+            return null;
+        }
+        final Chunk chunk = this.chunks[(dx + 1) + (dz + 1) * 3];
+        if (chunk == null || chunk.unloadQueued) {
+            return null;
+        }
+        return chunk;
+    }
+
+    /**
+     * Releases the chunks of the last update, so they can be collected once
+     * unloaded.
+     */
+    public void clear() {
+        Arrays.fill(this.chunks, null);
+    }
+}
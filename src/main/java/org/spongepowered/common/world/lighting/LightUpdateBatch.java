@@ -0,0 +1,95 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.lighting;
+
+import it.unimi.dsi.fastutil.shorts.ShortOpenHashSet;
+import it.unimi.dsi.fastutil.shorts.ShortSet;
+import net.minecraft.world.EnumSkyBlock;
+import net.minecraft.world.chunk.Chunk;
+
+import java.util.List;
+
+/**
+ * The light checks of one light type queued for a chunk section during the
+ * current tick, which are run together as a single light job.
+ */
+public final class LightUpdateBatch {
+
+    private final Chunk chunk;
+    private final EnumSkyBlock lightType;
+    private final int section;
+    private final List<Chunk> neighbors;
+    private final ShortSet positions = new ShortOpenHashSet();
+
+    public LightUpdateBatch(Chunk chunk, EnumSkyBlock lightType, int section, List<Chunk> neighbors) {
+        this.chunk = chunk;
+        this.lightType = lightType;
+        this.section = section;
+        this.neighbors = neighbors;
+    }
+
+    public Chunk getChunk() {
+        return this.chunk;
+    }
+
+    public EnumSkyBlock getLightType() {
+        return this.lightType;
+    }
+
+    public int getSection() {
+        return this.section;
+    }
+
+    /**
+     * Gets the chunks surrounding the chunk of this batch, including
+     * diagonals, which were marked as having a pending light update when the
+     * batch was created.
+     *
+     * @return The neighbors
+     */
+    public List<Chunk> getNeighbors() {
+        return this.neighbors;
+    }
+
+    /**
+     * Gets the queued positions, in the short format of
+     * {@link org.spongepowered.common.interfaces.IMixinChunk#getQueuedLightingUpdates}.
+     *
+     * @return The positions
+     */
+    public ShortSet getPositions() {
+        return this.positions;
+    }
+
+    /**
+     * Adds a position to this batch.
+     *
+     * @param position The position
+     * @return False if the position was already queued
+     */
+    public boolean add(short position) {
+        return this.positions.add(position);
+    }
+}
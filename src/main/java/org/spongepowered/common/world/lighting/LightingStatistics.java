@@ -0,0 +1,142 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.lighting;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nullable;
+
+/**
+ * Collects the run times of light jobs over fixed windows of time, so rates
+ * and percentiles reflect recent activity rather than the whole uptime.
+ *
+ * <p>Times are recorded into power of two buckets, percentiles are the
+ * upper bound of the bucket they fall into.</p>
+ */
+public final class LightingStatistics {
+
+    private static final long WINDOW = TimeUnit.SECONDS.toNanos(10);
+
+    private volatile Window current = new Window(System.nanoTime());
+    @Nullable private volatile Window previous;
+
+    void record(long nanos) {
+        Window window = this.current;
+        final long now = System.nanoTime();
+        if (now - window.start >= WINDOW) {
+            synchronized (this) {
+                if (this.current == window) {
+                    window.end = now;
+                    this.previous = window;
+                    this.current = new Window(now);
+                }
+            }
+            window = this.current;
+        }
+        window.record(nanos);
+    }
+
+    /**
+     * Gets the last completed window, or the current one if none completed
+     * yet.
+     *
+     * @return The window
+     */
+    public Window getWindow() {
+        final Window window = this.current;
+        if (System.nanoTime() - window.start >= WINDOW * 2) {
+            // Nothing was recorded for a whole window
+            return new Window(System.nanoTime() - WINDOW);
+        }
+        final Window previous = this.previous;
+        return previous != null ? previous : window;
+    }
+
+    public static final class Window {
+
+        final long start;
+        volatile long end;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalTime = new LongAdder();
+        // Bucket n holds times below 2^n nanoseconds
+        private final AtomicLongArray buckets = new AtomicLongArray(Long.SIZE + 1);
+
+        Window(long start) {
+            this.start = start;
+        }
+
+        void record(long nanos) {
+            this.count.increment();
+            this.totalTime.add(nanos);
+            this.buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(Math.max(nanos, 0)));
+        }
+
+        public long getCount() {
+            return this.count.sum();
+        }
+
+        public double getTasksPerSecond() {
+            final long end = this.end == 0 ? System.nanoTime() : this.end;
+            return this.count.sum() / Math.max(1.0, (end - this.start) / 1.0e9);
+        }
+
+        /**
+         * Gets the average run time of a job.
+         *
+         * @return The average time in nanoseconds
+         */
+        public long getAverageTime() {
+            final long count = this.count.sum();
+            return count == 0 ? 0 : this.totalTime.sum() / count;
+        }
+
+        /**
+         * Gets the run time the given fraction of jobs completed within.
+         *
+         * @param percentile The fraction, between 0 and 1
+         * @return The time in nanoseconds
+         */
+        public long getPercentileTime(double percentile) {
+            long total = 0;
+            for (int i = 0; i < this.buckets.length(); i++) {
+                total += this.buckets.get(i);
+            }
+            if (total == 0) {
+                return 0;
+            }
+            final long target = (long) Math.ceil(total * percentile);
+            long seen = 0;
+            for (int i = 0; i < this.buckets.length(); i++) {
+                seen += this.buckets.get(i);
+                if (seen >= target) {
+                    return i >= Long.SIZE - 1 ? Long.MAX_VALUE : 1L << i;
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+    }
+}
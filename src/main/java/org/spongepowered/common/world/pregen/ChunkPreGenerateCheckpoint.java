@@ -0,0 +1,156 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.pregen;
+
+import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import javax.annotation.Nullable;
+
+/**
+ * The persisted progress of a chunk pre-generation, stored in the world
+ * directory so that an interrupted run can continue where it stopped. Each
+ * center and radius gets its own file, so pre-generations of different areas
+ * of the same world don't overwrite each other's progress.
+ */
+final class ChunkPreGenerateCheckpoint {
+
+    private static final String FILE_NAME = "sponge_pregen_%d_%d_%d.dat";
+
+    private static final String CENTER_X = "CenterX";
+    private static final String CENTER_Z = "CenterZ";
+    private static final String RADIUS = "Radius";
+    private static final String POSITION_X = "PositionX";
+    private static final String POSITION_Z = "PositionZ";
+    private static final String LAYER = "Layer";
+    private static final String INDEX = "Index";
+    private static final String NEXT_JUMP = "NextJump";
+    private static final String GENERATED = "Generated";
+    private static final String SKIPPED = "Skipped";
+
+    final Vector3i center;
+    final int chunkRadius;
+    final Vector3i position;
+    final int layer;
+    final int index;
+    final int nextJump;
+    final int chunksGenerated;
+    final int chunksSkipped;
+
+    ChunkPreGenerateCheckpoint(Vector3i center, int chunkRadius, Vector3i position, int layer, int index, int nextJump,
+            int chunksGenerated, int chunksSkipped) {
+        this.center = center;
+        this.chunkRadius = chunkRadius;
+        this.position = position;
+        this.layer = layer;
+        this.index = index;
+        this.nextJump = nextJump;
+        this.chunksGenerated = chunksGenerated;
+        this.chunksSkipped = chunksSkipped;
+    }
+
+    /**
+     * Gets whether this checkpoint belongs to a pre-generation around the
+     * given center and radius.
+     *
+     * @param center The center chunk
+     * @param chunkRadius The radius, in chunks
+     * @return True if the checkpoint can be resumed
+     */
+    boolean matches(Vector3i center, int chunkRadius) {
+        return this.center.getX() == center.getX() && this.center.getZ() == center.getZ() && this.chunkRadius == chunkRadius;
+    }
+
+    private static String getFileName(Vector3i center, int chunkRadius) {
+        return String.format(FILE_NAME, center.getX(), center.getZ(), chunkRadius);
+    }
+
+    @Nullable
+    static ChunkPreGenerateCheckpoint read(Path worldDir, Vector3i center, int chunkRadius) {
+        final Path path = worldDir.resolve(getFileName(center, chunkRadius));
+        if (Files.notExists(path)) {
+            return null;
+        }
+        try (InputStream stream = Files.newInputStream(path)) {
+            final NBTTagCompound compound = CompressedStreamTools.readCompressed(stream);
+            return new ChunkPreGenerateCheckpoint(
+                    new Vector3i(compound.getInteger(CENTER_X), 0, compound.getInteger(CENTER_Z)),
+                    compound.getInteger(RADIUS),
+                    new Vector3i(compound.getInteger(POSITION_X), 0, compound.getInteger(POSITION_Z)),
+                    compound.getInteger(LAYER),
+                    compound.getInteger(INDEX),
+                    compound.getInteger(NEXT_JUMP),
+                    compound.getInteger(GENERATED),
+                    compound.getInteger(SKIPPED));
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Could not read the chunk pre-generation checkpoint [{}]!", path, e);
+            return null;
+        }
+    }
+
+    void write(Path worldDir) {
+        final NBTTagCompound compound = new NBTTagCompound();
+        compound.setInteger(CENTER_X, this.center.getX());
+        compound.setInteger(CENTER_Z, this.center.getZ());
+        compound.setInteger(RADIUS, this.chunkRadius);
+        compound.setInteger(POSITION_X, this.position.getX());
+        compound.setInteger(POSITION_Z, this.position.getZ());
+        compound.setInteger(LAYER, this.layer);
+        compound.setInteger(INDEX, this.index);
+        compound.setInteger(NEXT_JUMP, this.nextJump);
+        compound.setInteger(GENERATED, this.chunksGenerated);
+        compound.setInteger(SKIPPED, this.chunksSkipped);
+
+        final String fileName = getFileName(this.center, this.chunkRadius);
+        final Path path = worldDir.resolve(fileName);
+        final Path tmpPath = worldDir.resolve(fileName + ".tmp");
+        try {
+            try (OutputStream stream = Files.newOutputStream(tmpPath)) {
+                CompressedStreamTools.writeCompressed(compound, stream);
+            }
+            Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Could not write the chunk pre-generation checkpoint [{}]!", path, e);
+        }
+    }
+
+    static void delete(Path worldDir, Vector3i center, int chunkRadius) {
+        final Path path = worldDir.resolve(getFileName(center, chunkRadius));
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Could not delete the chunk pre-generation checkpoint [{}]!", path, e);
+        }
+    }
+}
@@ -30,6 +30,8 @@
 import com.flowpowered.math.GenericMath;
 import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.storage.IChunkLoader;
 import org.apache.commons.lang3.time.DurationFormatUtils;
 import org.slf4j.Logger;
 import org.spongepowered.api.Sponge;
@@ -44,8 +46,10 @@
 import org.spongepowered.api.world.WorldBorder;
 import org.spongepowered.api.world.storage.WorldProperties;
 import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
 
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
@@ -60,6 +64,7 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
 
     private static final int DEFAULT_TICK_INTERVAL = 4;
     private static final float DEFAULT_TICK_PERCENT = 0.8f;
+    private static final long CHECKPOINT_INTERVAL_MILLIS = 30000;
 
     private static final Vector3i[] OFFSETS = {
             Vector3i.UNIT_Z.negate().mul(2),
@@ -81,6 +86,9 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
     private final Task spongeTask;
     private final int tickInterval;
     private final Object plugin;
+    private final boolean resume;
+    private final Path worldDir;
+    private final Vector3i centerChunk;
 
     // If null, no listeners have been assigned, so they don't need to be registered or unregistered.
     @Nullable private final EventListener<ChunkPreGenerationEvent> eventListener;
@@ -91,8 +99,12 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
     private int currentIndex;
     private int nextJump;
 
+    private long lastCheckpointTime;
+
     private int chunksSkipped = 0;
     private int chunksGenerated = 0;
+    // Generated by the interrupted runs this one continues
+    private int chunksGeneratedBefore = 0;
 
     // Used for wall clock times.
     private long generationStartTime = 0;
@@ -100,8 +112,8 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
     private boolean isCancelled = false;
 
     private SpongeChunkPreGenerateTask(Object plugin,
-            World world, Vector3d center, double diameter, int chunkCount, float tickPercent, int tickInterval, Cause cause,
-            List<Consumer<ChunkPreGenerationEvent>> eventListeners) {
+            World world, Vector3d center, double diameter, int chunkCount, float tickPercent, int tickInterval, boolean resume,
+            Cause cause, List<Consumer<ChunkPreGenerationEvent>> eventListeners) {
 
         this.scheduler = Sponge.getScheduler();
         int preferredTickInterval = this.scheduler.getPreferredTickInterval();
@@ -114,12 +126,14 @@ private SpongeChunkPreGenerateTask(Object plugin,
         // This results in a extremely noticeable speed improvement.
         //
         // This also allows us to catch non Anvil file formats too.
-        if (world.getWorldStorage() instanceof IMixinAnvilChunkLoader) {
-            this.doesChunkExistCheck = v -> ((IMixinAnvilChunkLoader) world.getWorldStorage())
+        final IChunkLoader chunkLoader = ((IMixinChunkProviderServer) ((WorldServer) world).getChunkProvider()).getChunkLoader();
+        if (chunkLoader instanceof IMixinAnvilChunkLoader) {
+            this.doesChunkExistCheck = v -> ((IMixinAnvilChunkLoader) chunkLoader)
                     .chunkExists((net.minecraft.world.World) this.world, v.getX(), v.getZ());
         } else {
             this.doesChunkExistCheck = v -> false;
         }
+        this.worldDir = ((WorldServer) world).getSaveHandler().getWorldDirectory().toPath();
 
         this.chunkRadius = GenericMath.floor(diameter / 32);
         this.chunkCount = chunkCount;
@@ -127,16 +141,31 @@ private SpongeChunkPreGenerateTask(Object plugin,
         this.tickTimeLimit = Math.round(preferredTickInterval * tickPercent);
         this.cause = cause;
         this.tickInterval = tickInterval;
+        this.resume = resume;
         final Optional<Vector3i> currentPosition = SpongeChunkLayout.instance.toChunk(center.toInt());
         if (currentPosition.isPresent()) {
-            this.currentPosition = currentPosition.get();
+            this.centerChunk = currentPosition.get();
         } else {
             throw new IllegalArgumentException("Center is not a valid chunk coordinate");
         }
         this.currentGenCount = 4;
-        this.currentLayer = 0;
-        this.currentIndex = 0;
-        this.nextJump = 0;
+        final ChunkPreGenerateCheckpoint checkpoint = resume ? ChunkPreGenerateCheckpoint.read(this.worldDir, this.centerChunk, this.chunkRadius) : null;
+        if (checkpoint != null && checkpoint.matches(this.centerChunk, this.chunkRadius)) {
+            // Continue where an interrupted run of the same area stopped
+            this.currentPosition = checkpoint.position;
+            this.currentLayer = checkpoint.layer;
+            this.currentIndex = checkpoint.index;
+            this.nextJump = checkpoint.nextJump;
+            this.chunksGenerated = checkpoint.chunksGenerated;
+            this.chunksGeneratedBefore = checkpoint.chunksGenerated;
+            this.chunksSkipped = checkpoint.chunksSkipped;
+        } else {
+            this.currentPosition = this.centerChunk;
+            this.currentLayer = 0;
+            this.currentIndex = 0;
+            this.nextJump = 0;
+        }
+        this.lastCheckpointTime = System.currentTimeMillis();
 
         this.totalChunksToGenerate = (int) Math.pow(this.chunkRadius * 2 + 1, 2);
 
@@ -206,6 +235,7 @@ public void cancel() {
             }
             this.spongeTask.cancel();
             this.isCancelled = true;
+            writeCheckpoint();
         }
     }
 
@@ -267,6 +297,10 @@ public void accept(Task task) {
         final long deltaTime = System.currentTimeMillis() - stepStartTime;
         this.generationEndTime = System.currentTimeMillis();
 
+        if (this.generationEndTime - this.lastCheckpointTime >= CHECKPOINT_INTERVAL_MILLIS) {
+            writeCheckpoint();
+        }
+
         // Create and fire event.
         if (Sponge.getEventManager().post(SpongeEventFactory.createChunkPreGenerationEventPost(
                 this.cause,
@@ -290,15 +324,35 @@ public void accept(Task task) {
 
             this.isCancelled = true;
             unregisterListener();
+            ChunkPreGenerateCheckpoint.delete(this.worldDir, this.centerChunk, this.chunkRadius);
             task.cancel();
         }
     }
 
+    /**
+     * Gets the average number of chunks generated per second since the task
+     * started, not counting chunks generated before it was resumed.
+     *
+     * @return The generation throughput
+     */
+    public double getChunksPerSecond() {
+        final long millis = getTotalTime().toMillis();
+        return millis <= 0 ? 0 : (this.chunksGenerated - this.chunksGeneratedBefore) * 1000D / millis;
+    }
+
+    // The chunk existence checks are answered from the region existence index of the chunk loader,
+    // without hitting the disk, so they are cheap enough for the main thread
     private boolean areAllChunksLoaded(Vector3i chunk1, Vector3i chunk2, Vector3i chunk3, Vector3i chunk4) {
         return this.doesChunkExistCheck.test(chunk1) && this.doesChunkExistCheck.test(chunk2) &&
                 this.doesChunkExistCheck.test(chunk3) && this.doesChunkExistCheck.test(chunk4);
     }
 
+    private void writeCheckpoint() {
+        this.lastCheckpointTime = System.currentTimeMillis();
+        new ChunkPreGenerateCheckpoint(this.centerChunk, this.chunkRadius, this.currentPosition, this.currentLayer,
+                this.currentIndex, this.nextJump, this.chunksGenerated, this.chunksSkipped).write(this.worldDir);
+    }
+
     private void unregisterListener() {
         if (this.eventListener != null) {
             Sponge.getEventManager().unregisterListeners(this.eventListener);
@@ -314,6 +368,7 @@ private void cancelTask(Task task) {
 
         this.isCancelled = true;
         unregisterListener();
+        writeCheckpoint();
     }
 
     private boolean hasNextChunkPosition() {
@@ -363,6 +418,7 @@ public static class Builder implements ChunkPreGenerate.Builder {
         private int tickInterval = DEFAULT_TICK_INTERVAL;
         private float tickPercent = DEFAULT_TICK_PERCENT;
         private int chunksPerTick = 0;
+        private boolean resume = true;
 
         public Builder(World world, Vector3d center, double diameter) {
             this.world = world;
@@ -387,11 +443,12 @@ public ChunkPreGenerate.Builder logger(@Nullable Logger logger) {
                 this.addListener(event -> {
                     if (event instanceof ChunkPreGenerationEvent.Post) {
                         ChunkPreGenerationEvent.Post post = (ChunkPreGenerationEvent.Post) event;
-                        logger.info("Generated {} chunks in {}, {}% complete", post.getChunksGeneratedThisStep(),
+                        logger.info("Generated {} chunks in {}, {}% complete ({} chunks/s)", post.getChunksGeneratedThisStep(),
                             DurationFormatUtils.formatDuration(post.getTimeTakenForStep().toMillis(), TIME_FORMAT, false),
                             GenericMath.floor(
                                 100 * (post.getChunkPreGenerate().getTotalGeneratedChunks() + post.getChunkPreGenerate().getTotalSkippedChunks())
-                                    / post.getChunkPreGenerate().getTargetTotalChunks())
+                                    / post.getChunkPreGenerate().getTargetTotalChunks()),
+                            GenericMath.floor(((SpongeChunkPreGenerateTask) post.getChunkPreGenerate()).getChunksPerSecond())
                         );
                     } else if (event instanceof ChunkPreGenerationEvent.Complete) {
                         logger.info("Done! Generated a total of {} chunks in {}", event.getChunkPreGenerate().getTargetTotalChunks(),
@@ -424,6 +481,18 @@ public ChunkPreGenerate.Builder tickPercentLimit(float tickPercent) {
             return this;
         }
 
+        /**
+         * Sets whether the progress of an interrupted pre-generation of the
+         * same area should be resumed, defaults to true.
+         *
+         * @param resume Whether to resume from the last checkpoint
+         * @return This builder, for chaining
+         */
+        public Builder resume(boolean resume) {
+            this.resume = resume;
+            return this;
+        }
+
         @Override
         public ChunkPreGenerate.Builder addListener(Consumer<ChunkPreGenerationEvent> listener) {
             checkNotNull(listener, "listener cannot be null");
@@ -439,7 +508,7 @@ public ChunkPreGenerate start() {
             Cause cause = Sponge.getCauseStackManager().getCurrentCause();
             Sponge.getCauseStackManager().popCause();
             return new SpongeChunkPreGenerateTask(this.plugin, this.world, this.center, this.diameter, this.chunksPerTick, this.tickPercent,
-                    this.tickInterval, cause, this.eventListeners);
+                    this.tickInterval, this.resume, cause, this.eventListeners);
         }
 
         @Override
@@ -451,6 +520,7 @@ public ChunkPreGenerate.Builder from(ChunkPreGenerate value) {
             final SpongeChunkPreGenerateTask other = (SpongeChunkPreGenerateTask) value;
             // Bypass null check
             this.plugin = other.plugin;
+            this.resume = other.resume;
             return tickInterval(other.tickInterval)
                     .chunksPerTick(other.chunkCount)
                     .tickPercentLimit(other.tickPercent);
@@ -462,6 +532,7 @@ public ChunkPreGenerate.Builder reset() {
             this.tickInterval = 0;
             this.chunksPerTick = 0;
             this.tickPercent = DEFAULT_TICK_PERCENT;
+            this.resume = true;
             this.eventListeners.clear();
             return this;
         }
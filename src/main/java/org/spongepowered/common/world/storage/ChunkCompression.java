@@ -0,0 +1,129 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.annotation.Nullable;
+
+/**
+ * The compression codecs chunk data can be stored with inside of a region
+ * file, identified by the version byte preceding each chunk.
+ */
+public enum ChunkCompression {
+
+    GZIP(1) {
+        @Override
+        public OutputStream compress(OutputStream out, int level) throws IOException {
+            return new GZIPOutputStream(out) {
+                {
+                    this.def.setLevel(level);
+                }
+            };
+        }
+
+        @Override
+        public InputStream decompress(InputStream in) throws IOException {
+            return new GZIPInputStream(in);
+        }
+    },
+    DEFLATE(2) {
+        @Override
+        public OutputStream compress(OutputStream out, int level) {
+            if (level == Deflater.DEFAULT_COMPRESSION) {
+                return new DeflaterOutputStream(out);
+            }
+            // A custom deflater is not ended by the stream itself
+            return new DeflaterOutputStream(out, new Deflater(level)) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        this.def.end();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public InputStream decompress(InputStream in) {
+            return new InflaterInputStream(in);
+        }
+    },
+    /**
+     * Stores chunk data as is, for worlds on memory backed storage where
+     * compression only costs time.
+     */
+    NONE(3) {
+        @Override
+        public OutputStream compress(OutputStream out, int level) {
+            return out;
+        }
+
+        @Override
+        public InputStream decompress(InputStream in) {
+            return in;
+        }
+    };
+
+    private final byte version;
+
+    ChunkCompression(int version) {
+        this.version = (byte) version;
+    }
+
+    /**
+     * Gets the version byte written in front of chunk data using this
+     * compression.
+     *
+     * @return The version byte
+     */
+    public byte getVersion() {
+        return this.version;
+    }
+
+    public abstract OutputStream compress(OutputStream out, int level) throws IOException;
+
+    public abstract InputStream decompress(InputStream in) throws IOException;
+
+    @Nullable
+    public static ChunkCompression byVersion(byte version) {
+        for (ChunkCompression compression : values()) {
+            if (compression.version == version) {
+                return compression;
+            }
+        }
+        return null;
+    }
+
+}
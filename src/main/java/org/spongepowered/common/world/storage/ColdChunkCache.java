@@ -0,0 +1,172 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * A bounded, least recently used cache of the compressed data of chunks
+ * that were recently unloaded, so loading them again does not need to read
+ * the region file.
+ *
+ * <p>The cached data is what was written to the region file, so caching a
+ * chunk costs a copy of it and no compression of its own.</p>
+ *
+ * <p>Entries are removed when they are loaded or when a newer version of
+ * the chunk is saved, so the cache never holds more than one copy of a
+ * chunk and never one that is older than what is on disk.</p>
+ */
+public final class ColdChunkCache {
+
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+    private long maxSize;
+    private long expiryMillis;
+    private long hits;
+    private long misses;
+
+    /**
+     * Updates the limits of this cache, evicting entries as needed.
+     *
+     * @param maxSize The maximum size of all entries in bytes, 0 disables
+     *     the cache
+     * @param expiryMillis The time after which entries expire
+     */
+    public synchronized void setLimits(long maxSize, long expiryMillis) {
+        this.maxSize = maxSize;
+        this.expiryMillis = expiryMillis;
+        this.evict(System.currentTimeMillis());
+    }
+
+    public synchronized boolean isEnabled() {
+        return this.maxSize > 0;
+    }
+
+    /**
+     * Caches the compressed data of the given chunk.
+     *
+     * @param key The chunk key, see {@link net.minecraft.util.math.ChunkPos#asLong(int, int)}
+     * @param data The compressed chunk data
+     * @param compression The compression of the data
+     */
+    public synchronized void put(long key, byte[] data, ChunkCompression compression) {
+        if (data.length > this.maxSize) {
+            return;
+        }
+        final Entry previous = this.entries.put(key, new Entry(data, compression, System.currentTimeMillis()));
+        if (previous != null) {
+            this.size -= previous.data.length;
+        }
+        this.size += data.length;
+        this.evict(System.currentTimeMillis());
+    }
+
+    /**
+     * Removes the given chunk and returns a stream of its data, if it's
+     * cached and not yet expired.
+     *
+     * @param key The chunk key, see {@link net.minecraft.util.math.ChunkPos#asLong(int, int)}
+     * @return The decompressing chunk data stream, or null
+     */
+    @Nullable
+    public DataInputStream remove(long key) {
+        final Entry entry;
+        synchronized (this) {
+            entry = this.entries.remove(key);
+            if (entry == null) {
+                this.misses++;
+                return null;
+            }
+            this.size -= entry.data.length;
+            if (System.currentTimeMillis() - entry.time > this.expiryMillis) {
+                this.misses++;
+                return null;
+            }
+            this.hits++;
+        }
+        try {
+            return new DataInputStream(new BufferedInputStream(entry.compression.decompress(new ByteArrayInputStream(entry.data))));
+        } catch (IOException e) {
+            // Read from the region file instead
+            return null;
+        }
+    }
+
+    public synchronized void invalidate(long key) {
+        final Entry entry = this.entries.remove(key);
+        if (entry != null) {
+            this.size -= entry.data.length;
+        }
+    }
+
+    private void evict(long now) {
+        final Iterator<Entry> it = this.entries.values().iterator();
+        while (it.hasNext()) {
+            final Entry entry = it.next();
+            // Entries are in access order, which for this cache is insertion order
+            if (this.size <= this.maxSize && now - entry.time <= this.expiryMillis) {
+                break;
+            }
+            this.size -= entry.data.length;
+            it.remove();
+        }
+    }
+
+    public synchronized int getCount() {
+        return this.entries.size();
+    }
+
+    public synchronized long getSize() {
+        return this.size;
+    }
+
+    public synchronized long getHits() {
+        return this.hits;
+    }
+
+    public synchronized long getMisses() {
+        return this.misses;
+    }
+
+    private static final class Entry {
+
+        final byte[] data;
+        final ChunkCompression compression;
+        final long time;
+
+        Entry(byte[] data, ChunkCompression compression, long time) {
+            this.data = data;
+            this.compression = compression;
+            this.time = time;
+        }
+    }
+}
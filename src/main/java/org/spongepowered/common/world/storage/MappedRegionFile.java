@@ -0,0 +1,240 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+
+import javax.annotation.Nullable;
+
+/**
+ * A read-only view of an anvil region file backed by a
+ * {@link MappedByteBuffer}.
+ *
+ * <p>Unlike {@link net.minecraft.world.chunk.storage.RegionFile}, chunk data
+ * is never copied into an intermediate array, it is inflated straight from
+ * the mapped sectors. The header is only read once, so this must not be used
+ * while the region file may still be written to.</p>
+ */
+public final class MappedRegionFile {
+
+    private static final int SECTOR_BYTES = 4096;
+    private static final int SECTOR_INTS = SECTOR_BYTES / 4;
+
+    private final ByteBuffer buffer;
+    private final int[] offsets = new int[SECTOR_INTS];
+
+    public MappedRegionFile(Path path) throws IOException {
+        // The mapping stays valid after the channel is closed and is
+        // released once the buffer is collected
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size < SECTOR_BYTES) {
+                // Empty or truncated file, nothing to read
+                this.buffer = ByteBuffer.allocate(0);
+                return;
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            this.buffer.asIntBuffer().get(this.offsets);
+        }
+    }
+
+    /**
+     * Gets a copy of the chunk offset table, indexed by {@code x + z * 32}.
+     *
+     * @return The offset table
+     */
+    public int[] getOffsets() {
+        return this.offsets.clone();
+    }
+
+    public boolean hasChunk(int x, int z) {
+        return this.offsets[x + z * 32] != 0;
+    }
+
+    /**
+     * Gets whether the offset of the chunk read when the file was mapped
+     * still matches the header of the file, the mapping sees writes made to
+     * the file after it was created.
+     *
+     * @param x The region local x coordinate
+     * @param z The region local z coordinate
+     * @return False if the chunk was moved or removed since the file was mapped
+     */
+    public boolean isHeaderCurrent(int x, int z) {
+        final int index = x + z * 32;
+        if (this.buffer.limit() < SECTOR_BYTES) {
+            return this.offsets[index] == 0;
+        }
+        return this.buffer.getInt(index * 4) == this.offsets[index];
+    }
+
+    /**
+     * Gets a stream of the decompressed chunk data at the given region local
+     * coordinates.
+     *
+     * @param x The region local x coordinate
+     * @param z The region local z coordinate
+     * @return The chunk data stream, or null if the chunk does not exist
+     * @throws IOException If the chunk data is corrupt
+     */
+    @Nullable
+    public DataInputStream getChunkDataInputStream(int x, int z) throws IOException {
+        final int offset = this.offsets[x + z * 32];
+        if (offset == 0) {
+            return null;
+        }
+        final long start = (long) (offset >> 8) * SECTOR_BYTES;
+        final long end = start + (long) (offset & 255) * SECTOR_BYTES;
+        if (end > this.buffer.limit()) {
+            throw new IOException("Chunk " + x + ", " + z + " points outside of the region file");
+        }
+        final ByteBuffer sectors = this.buffer.duplicate();
+        sectors.position((int) start);
+        sectors.limit((int) end);
+        return decompress(sectors.slice(), x, z);
+    }
+
+    /**
+     * Reads a single chunk from the given region file, mapping only the
+     * header and the sectors of the chunk.
+     *
+     * @param path The region file
+     * @param x The region local x coordinate
+     * @param z The region local z coordinate
+     * @return The chunk data stream, or null if the chunk does not exist
+     * @throws IOException If the file could not be read
+     */
+    @Nullable
+    public static DataInputStream readChunk(Path path, int x, int z) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size < SECTOR_BYTES) {
+                return null;
+            }
+            final int offset = channel.map(FileChannel.MapMode.READ_ONLY, 0, SECTOR_BYTES).getInt((x + z * 32) * 4);
+            if (offset == 0) {
+                return null;
+            }
+            final long start = (long) (offset >> 8) * SECTOR_BYTES;
+            final long length = Math.min((long) (offset & 255) * SECTOR_BYTES, size - start);
+            if (length <= 5) {
+                return null;
+            }
+            return decompress(channel.map(FileChannel.MapMode.READ_ONLY, start, length), x, z);
+        }
+    }
+
+    /**
+     * Reads which chunks exist in the given region file from its header,
+     * without reading any chunk data.
+     *
+     * @param path The region file
+     * @return The existing chunks, indexed by {@code x + z * 32}
+     * @throws IOException If the file could not be read
+     */
+    public static BitSet readChunkBitmap(Path path) throws IOException {
+        final BitSet bitmap = new BitSet(SECTOR_INTS);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final ByteBuffer header = ByteBuffer.allocate(SECTOR_BYTES);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Keep reading until the header is complete or the file ends
+            }
+            if (header.hasRemaining()) {
+                return bitmap;
+            }
+            header.flip();
+            for (int i = 0; i < SECTOR_INTS; i++) {
+                if (header.getInt() != 0) {
+                    bitmap.set(i);
+                }
+            }
+        }
+        return bitmap;
+    }
+
+    static DataInputStream decompress(ByteBuffer sectors, int x, int z) throws IOException {
+        final int length = sectors.getInt();
+        if (length <= 0 || length > sectors.remaining()) {
+            throw new IOException("Chunk " + x + ", " + z + " has an invalid length of " + length);
+        }
+        final byte version = sectors.get();
+        final ChunkCompression compression = ChunkCompression.byVersion(version);
+        if (compression == null) {
+            throw new IOException("Chunk " + x + ", " + z + " has an unknown compression version " + version);
+        }
+        sectors.limit(sectors.position() + length - 1);
+        return new DataInputStream(new BufferedInputStream(compression.decompress(new ByteBufferInputStream(sectors.slice()))));
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!this.buffer.hasRemaining()) {
+                return -1;
+            }
+            final int read = Math.min(len, this.buffer.remaining());
+            this.buffer.get(b, off, read);
+            return read;
+        }
+
+        @Override
+        public long skip(long n) {
+            final int skipped = (int) Math.max(0, Math.min(n, this.buffer.remaining()));
+            this.buffer.position(this.buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return this.buffer.remaining();
+        }
+
+    }
+
+}
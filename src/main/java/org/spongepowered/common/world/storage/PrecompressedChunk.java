@@ -0,0 +1,128 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+import javax.annotation.Nullable;
+
+/**
+ * The compressed data of a chunk that's queued to be saved, prepared ahead
+ * of the write so the file IO thread only has to copy it into the region
+ * file.
+ *
+ * <p>It is registered for the chunk before compression starts, which claims
+ * the chunk: whoever finds the claim waits for it instead of compressing the
+ * same compound again, including the file IO thread when it compresses a
+ * chunk itself.</p>
+ */
+public final class PrecompressedChunk {
+
+    private final NBTTagCompound compound;
+    // Completed with whether the compressed data is available
+    private final CompletableFuture<Boolean> done;
+    @Nullable private Buffer buffer;
+    @Nullable private ChunkCompression compression;
+
+    private PrecompressedChunk(NBTTagCompound compound, CompletableFuture<Boolean> done) {
+        this.compound = compound;
+        this.done = done;
+    }
+
+    /**
+     * Creates a pending precompression of the given compound, to be
+     * registered before {@link #compress(ChunkCompression, int)} is called.
+     *
+     * @param compound The queued chunk compound
+     * @return The pending precompression
+     */
+    public static PrecompressedChunk pending(NBTTagCompound compound) {
+        return new PrecompressedChunk(compound, new CompletableFuture<>());
+    }
+
+    public void compress(ChunkCompression compression, int level) throws IOException {
+        try {
+            final Buffer buffer = new Buffer();
+            try (DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(compression.compress(buffer, level)))) {
+                CompressedStreamTools.write(this.compound, stream);
+            }
+            this.buffer = buffer;
+            this.compression = compression;
+        } finally {
+            this.done.complete(this.buffer != null);
+        }
+    }
+
+    /**
+     * Gets whether this is the compressed form of the given compound, and
+     * not of an older or newer version of the chunk.
+     *
+     * @param compound The queued chunk compound
+     * @return True if this holds the compound
+     */
+    public boolean isOf(NBTTagCompound compound) {
+        return this.compound == compound;
+    }
+
+    /**
+     * Waits for the compression to finish, if it is still in progress.
+     *
+     * @return True if the compressed data is available
+     */
+    public boolean await() {
+        return this.done.join();
+    }
+
+    public byte[] getData() {
+        return this.buffer.getBuffer();
+    }
+
+    public int getLength() {
+        return this.buffer.size();
+    }
+
+    public ChunkCompression getCompression() {
+        return this.compression;
+    }
+
+    private static final class Buffer extends ByteArrayOutputStream {
+
+        Buffer() {
+            super(8096);
+        }
+
+        // Avoids the copy of toByteArray
+        byte[] getBuffer() {
+            return this.buf;
+        }
+    }
+}
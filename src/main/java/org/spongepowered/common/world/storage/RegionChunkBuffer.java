@@ -0,0 +1,56 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import org.spongepowered.common.interfaces.world.IMixinRegionFile;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Buffers compressed chunk data and writes it to its region file once
+ * closed, like vanilla's {@code RegionFile.ChunkBuffer} but tagged with
+ * the {@link ChunkCompression} it was written with.
+ */
+public final class RegionChunkBuffer extends ByteArrayOutputStream {
+
+    private final IMixinRegionFile regionFile;
+    private final int x;
+    private final int z;
+    private final ChunkCompression compression;
+
+    public RegionChunkBuffer(IMixinRegionFile regionFile, int x, int z, ChunkCompression compression) {
+        super(8096);
+        this.regionFile = regionFile;
+        this.x = x;
+        this.z = z;
+        this.compression = compression;
+    }
+
+    @Override
+    public void close() {
+        this.regionFile.writeChunk(this.x, this.z, this.buf, this.count, this.compression);
+    }
+
+}
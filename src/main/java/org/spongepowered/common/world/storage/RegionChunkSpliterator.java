@@ -0,0 +1,260 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link Spliterator} over the generated chunks of a world which splits by
+ * region file, and within the last region file by chunk index.
+ *
+ * <p>Region files are only opened once iteration reaches them and are
+ * closed as soon as all of their chunks have been visited, so a parallel
+ * stream over a large world only keeps a handful of files open at once.
+ * They are opened privately, the shared region file cache of the chunk
+ * loader is never touched.</p>
+ *
+ * <p>Files still open when iteration stops early, because of a short
+ * circuiting operation or an exception, are only closed by {@link #close()},
+ * which {@link WorldStorageUtil#streamGeneratedChunks(Path, BooleanSupplier)}
+ * registers as the close handler of its stream.</p>
+ */
+public final class RegionChunkSpliterator implements Spliterator<DataContainer>, Closeable {
+
+    private static final int CHUNKS_PER_REGION = 1024;
+    private static final int MIN_SPLIT_CHUNKS = 64;
+
+    private final List<Path> files;
+    private final BooleanSupplier mapped;
+    // Shared by all splits, see close
+    private final Set<OpenRegion> openRegions;
+    private int nextFile;
+    private final int endFile;
+
+    @Nullable private OpenRegion current;
+    private int index;
+    private int endIndex;
+
+    public RegionChunkSpliterator(List<Path> files, BooleanSupplier mapped) {
+        this(files, mapped, ConcurrentHashMap.newKeySet(), 0, files.size());
+    }
+
+    private RegionChunkSpliterator(List<Path> files, BooleanSupplier mapped, Set<OpenRegion> openRegions, int nextFile, int endFile) {
+        this.files = files;
+        this.mapped = mapped;
+        this.openRegions = openRegions;
+        this.nextFile = nextFile;
+        this.endFile = endFile;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super DataContainer> action) {
+        while (this.advanceRegion()) {
+            while (this.index < this.endIndex) {
+                final int index = this.index++;
+                if (!this.current.hasChunk(index)) {
+                    continue;
+                }
+                final DataContainer data = this.current.read(index);
+                if (data != null) {
+                    action.accept(data);
+                    return true;
+                }
+            }
+            // Done with this file, close it once the other splits sharing it are done too
+            this.current.release();
+            this.current = null;
+        }
+        return false;
+    }
+
+    private boolean advanceRegion() {
+        while (this.current == null) {
+            if (this.nextFile >= this.endFile) {
+                return false;
+            }
+            this.current = this.open(this.files.get(this.nextFile++));
+            this.index = 0;
+            this.endIndex = CHUNKS_PER_REGION;
+        }
+        return true;
+    }
+
+    @Nullable
+    private OpenRegion open(Path file) {
+        // Checked again for every file, level saving may have been enabled since the stream was created
+        if (this.mapped.getAsBoolean()) {
+            try {
+                return new OpenRegion(this.openRegions, file, null, new MappedRegionFile(file));
+            } catch (IOException e) {
+                SpongeImpl.getLogger().warn("Unable to map region file {}, falling back to reading it", file, e);
+            }
+        }
+        try {
+            return new OpenRegion(this.openRegions, file, new RegionFileReader(file), null);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().warn("Unable to read region file {}, skipping it", file, e);
+            return null;
+        }
+    }
+
+    @Nullable
+    @Override
+    public Spliterator<DataContainer> trySplit() {
+        final int remainingFiles = this.endFile - this.nextFile;
+        if (remainingFiles > 1) {
+            final int mid = this.nextFile + remainingFiles / 2;
+            final RegionChunkSpliterator prefix = new RegionChunkSpliterator(this.files, this.mapped, this.openRegions, this.nextFile, mid);
+            this.nextFile = mid;
+            return prefix;
+        }
+        if (remainingFiles == 1 && this.current == null) {
+            this.advanceRegion();
+        }
+        if (this.current != null && this.endIndex - this.index >= MIN_SPLIT_CHUNKS * 2) {
+            // Share the open region with the prefix, both readers are thread safe
+            final int mid = this.index + (this.endIndex - this.index) / 2;
+            final RegionChunkSpliterator prefix = new RegionChunkSpliterator(this.files, this.mapped, this.openRegions, this.endFile, this.endFile);
+            prefix.current = this.current.retain();
+            prefix.index = this.index;
+            prefix.endIndex = mid;
+            this.index = mid;
+            return prefix;
+        }
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        final long open = this.current == null ? 0 : this.endIndex - this.index;
+        return open + (long) (this.endFile - this.nextFile) * CHUNKS_PER_REGION;
+    }
+
+    @Override
+    public int characteristics() {
+        return NONNULL | IMMUTABLE;
+    }
+
+    /**
+     * Closes the region files that are still open by this spliterator or
+     * any of its splits.
+     */
+    @Override
+    public void close() {
+        for (OpenRegion region : this.openRegions) {
+            region.close();
+        }
+    }
+
+    private static final class OpenRegion {
+
+        private final Set<OpenRegion> openRegions;
+        private final Path path;
+        @Nullable private final RegionFileReader file;
+        @Nullable private final MappedRegionFile mappedFile;
+        private final int[] offsets;
+        // Splits sharing this region, the reader is closed once all are done
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        OpenRegion(Set<OpenRegion> openRegions, Path path, @Nullable RegionFileReader file, @Nullable MappedRegionFile mappedFile)
+                throws IOException {
+            this.openRegions = openRegions;
+            this.path = path;
+            this.file = file;
+            this.mappedFile = mappedFile;
+            try {
+                this.offsets = mappedFile != null ? mappedFile.getOffsets() : file.readOffsets();
+            } catch (IOException e) {
+                if (file != null) {
+                    file.close();
+                }
+                throw e;
+            }
+            openRegions.add(this);
+        }
+
+        OpenRegion retain() {
+            this.references.incrementAndGet();
+            return this;
+        }
+
+        void release() {
+            if (this.references.decrementAndGet() == 0) {
+                this.close();
+            }
+        }
+
+        void close() {
+            if (this.openRegions.remove(this) && this.file != null) {
+                try {
+                    this.file.close();
+                } catch (IOException e) {
+                    // Nothing was written, nothing is lost
+                }
+            }
+        }
+
+        boolean hasChunk(int index) {
+            return this.offsets[index] != 0;
+        }
+
+        @Nullable
+        DataContainer read(int index) {
+            final int x = index & 31;
+            final int z = index >>> 5;
+            try {
+                final DataInputStream stream;
+                if (this.mappedFile == null) {
+                    stream = this.file.getChunkDataInputStream(x, z);
+                } else if (this.mappedFile.isHeaderCurrent(x, z)) {
+                    stream = this.mappedFile.getChunkDataInputStream(x, z);
+                } else {
+                    // Written to since it was mapped, read the chunk with the current header
+                    stream = MappedRegionFile.readChunk(this.path, x, z);
+                }
+                return WorldStorageUtil.readDataFromRegion(stream);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+    }
+
+}
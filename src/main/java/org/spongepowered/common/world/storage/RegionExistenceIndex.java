@@ -0,0 +1,126 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import net.minecraft.util.math.ChunkPos;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * An in-memory index of which chunks exist in the region files of a world.
+ *
+ * <p>Each region is indexed from its header the first time it's queried and
+ * kept up to date as chunks are written, so existence checks only touch the
+ * disk once per region file.</p>
+ */
+public final class RegionExistenceIndex {
+
+    private static final int REGION_CHUNKS = 32 * 32;
+
+    private final Path regionDir;
+    private final Map<Long, AtomicLongArray> regions = new ConcurrentHashMap<>();
+
+    public RegionExistenceIndex(Path worldDir) {
+        this.regionDir = worldDir.resolve("region");
+    }
+
+    /**
+     * Gets whether the region containing the given chunk has already been
+     * indexed, in which case {@link #exists(int, int)} won't read from disk.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return True if the region is indexed
+     */
+    public boolean isIndexed(int chunkX, int chunkZ) {
+        return this.regions.containsKey(ChunkPos.asLong(chunkX >> 5, chunkZ >> 5));
+    }
+
+    public boolean exists(int chunkX, int chunkZ) {
+        final AtomicLongArray region = getRegion(chunkX >> 5, chunkZ >> 5);
+        if (region == null) {
+            return false;
+        }
+        final int index = (chunkX & 31) + (chunkZ & 31) * 32;
+        return (region.get(index >> 6) & (1L << index)) != 0;
+    }
+
+    /**
+     * Marks the given chunk as written to its region file.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     */
+    public void markWritten(int chunkX, int chunkZ) {
+        final AtomicLongArray region = getRegion(chunkX >> 5, chunkZ >> 5);
+        if (region == null) {
+            return;
+        }
+        final int index = (chunkX & 31) + (chunkZ & 31) * 32;
+        final long bit = 1L << index;
+        long word;
+        do {
+            word = region.get(index >> 6);
+        } while ((word & bit) == 0 && !region.compareAndSet(index >> 6, word, word | bit));
+    }
+
+    private AtomicLongArray getRegion(int regionX, int regionZ) {
+        final long key = ChunkPos.asLong(regionX, regionZ);
+        AtomicLongArray region = this.regions.get(key);
+        if (region != null) {
+            return region;
+        }
+        try {
+            // Two threads may read the same header here, which is harmless as either result is
+            // complete, but only one is kept so no write marked in between is lost
+            region = readRegion(regionX, regionZ);
+        } catch (IOException e) {
+            // Not indexed, so the next check tries again
+            return null;
+        }
+        final AtomicLongArray previous = this.regions.putIfAbsent(key, region);
+        return previous != null ? previous : region;
+    }
+
+    private AtomicLongArray readRegion(int regionX, int regionZ) throws IOException {
+        final AtomicLongArray region = new AtomicLongArray(REGION_CHUNKS / 64);
+        final Path regionFile = this.regionDir.resolve("r." + regionX + "." + regionZ + ".mca");
+        if (Files.notExists(regionFile)) {
+            return region;
+        }
+        final BitSet bitmap = MappedRegionFile.readChunkBitmap(regionFile);
+        final long[] words = bitmap.toLongArray();
+        for (int i = 0; i < words.length; i++) {
+            region.set(i, words[i]);
+        }
+        return region;
+    }
+}
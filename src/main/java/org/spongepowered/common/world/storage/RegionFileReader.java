@@ -0,0 +1,127 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import javax.annotation.Nullable;
+
+/**
+ * A private, read-only handle on an anvil region file which may still be
+ * written to by the chunk loader.
+ *
+ * <p>Unlike the region files of {@link net.minecraft.world.chunk.storage.RegionFileCache}
+ * this is never shared or evicted by anyone else, and unlike a
+ * {@link MappedRegionFile} the header is read again for every chunk so chunks
+ * written in the meantime are picked up. All reads are positional, so a
+ * reader may be used by several threads at once.</p>
+ */
+public final class RegionFileReader implements Closeable {
+
+    private static final int SECTOR_BYTES = 4096;
+    private static final int SECTOR_INTS = SECTOR_BYTES / 4;
+
+    private final FileChannel channel;
+
+    public RegionFileReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+    }
+
+    /**
+     * Reads the current chunk offset table, indexed by {@code x + z * 32}.
+     *
+     * @return The offset table, all zero if the file has no complete header
+     * @throws IOException If the file could not be read
+     */
+    public int[] readOffsets() throws IOException {
+        final int[] offsets = new int[SECTOR_INTS];
+        final ByteBuffer header = this.read(0, SECTOR_BYTES);
+        if (header.remaining() == SECTOR_BYTES) {
+            header.asIntBuffer().get(offsets);
+        }
+        return offsets;
+    }
+
+    /**
+     * Gets a stream of the decompressed chunk data at the given region local
+     * coordinates.
+     *
+     * @param x The region local x coordinate
+     * @param z The region local z coordinate
+     * @return The chunk data stream, or null if the chunk does not exist
+     * @throws IOException If the chunk data is corrupt
+     */
+    @Nullable
+    public DataInputStream getChunkDataInputStream(int x, int z) throws IOException {
+        try {
+            return this.readChunk(x, z);
+        } catch (IOException e) {
+            // The chunk may have been moved by a write between reading its
+            // offset and its sectors, the header has the new offset by now
+            return this.readChunk(x, z);
+        }
+    }
+
+    @Nullable
+    private DataInputStream readChunk(int x, int z) throws IOException {
+        final ByteBuffer entry = this.read((x + z * 32) * 4, 4);
+        if (entry.remaining() < 4) {
+            return null;
+        }
+        final int offset = entry.getInt();
+        if (offset == 0) {
+            return null;
+        }
+        final long start = (long) (offset >> 8) * SECTOR_BYTES;
+        final ByteBuffer sectors = this.read(start, (offset & 255) * SECTOR_BYTES);
+        if (sectors.remaining() <= 5) {
+            throw new IOException("Chunk " + x + ", " + z + " points outside of the region file");
+        }
+        return MappedRegionFile.decompress(sectors, x, z);
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (this.channel.read(buffer, position + buffer.position()) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+}
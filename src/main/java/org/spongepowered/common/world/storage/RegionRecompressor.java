@@ -0,0 +1,202 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import com.google.common.io.ByteStreams;
+import net.minecraft.world.chunk.storage.RegionFile;
+import net.minecraft.world.chunk.storage.RegionFileCache;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.interfaces.world.IMixinRegionFile;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import javax.annotation.Nullable;
+
+/**
+ * Rewrites the region files of an unloaded world with another
+ * {@link ChunkCompression}.
+ *
+ * <p>Every region file is copied chunk by chunk into a temporary file which
+ * then replaces the original, which also compacts sectors freed by earlier
+ * saves. Chunk data is only decompressed and compressed again, it is never
+ * parsed. Chunks that can't be decompressed are copied as they are stored,
+ * and a region file with a corrupt sector header is left untouched, so no
+ * chunk is ever dropped.</p>
+ */
+public final class RegionRecompressor {
+
+    private static final String TEMP_SUFFIX = ".recompress";
+
+    private RegionRecompressor() {
+    }
+
+    /**
+     * Recompresses all region files of the given world folder.
+     *
+     * @param worldDir The world folder, must not be in use by a loaded world
+     * @param compression The new compression
+     * @param level The new compression level
+     * @return The number of recompressed and unchanged chunks
+     * @throws IOException If a region file could not be rewritten
+     */
+    public static Result recompress(Path worldDir, ChunkCompression compression, int level) throws IOException {
+        final Result result = new Result();
+        for (Path file : WorldStorageUtil.listRegionFiles(worldDir)) {
+            recompressFile(file, compression, level, result);
+        }
+        return result;
+    }
+
+    private static void recompressFile(Path file, ChunkCompression compression, int level, Result result) throws IOException {
+        releaseCached(file.toFile());
+        final Path temp = file.resolveSibling(file.getFileName() + TEMP_SUFFIX);
+        Files.deleteIfExists(temp);
+
+        int recompressed = 0;
+        int unchanged = 0;
+        boolean corrupt = false;
+        boolean done = false;
+        final RegionFile source = new RegionFile(file.toFile());
+        final RegionFile target = new RegionFile(temp.toFile());
+        try {
+            for (int index = 0; index < source.offsets.length; index++) {
+                if (source.offsets[index] == 0) {
+                    continue;
+                }
+                final int x = index & 31;
+                final int z = index >>> 5;
+                final byte[] data = readChunk(source, x, z);
+                if (data != null) {
+                    try (DataOutputStream out = ((IMixinRegionFile) target).getChunkDataOutputStream(x, z, compression, level)) {
+                        out.write(data);
+                    }
+                    recompressed++;
+                    continue;
+                }
+                // Unknown compression or corrupt data, keep it as it is stored
+                final byte[] raw = ((IMixinRegionFile) source).readRawChunk(x, z);
+                if (raw == null) {
+                    corrupt = true;
+                    break;
+                }
+                ((IMixinRegionFile) target).writeRawChunk(x, z, raw);
+                unchanged++;
+            }
+            done = true;
+        } finally {
+            source.close();
+            target.close();
+            if (!done) {
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        if (corrupt) {
+            Files.delete(temp);
+            SpongeImpl.getLogger().warn("Region file {} has a corrupt sector header and was not recompressed", file);
+            result.files++;
+            result.unchanged += countChunks(source);
+            return;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        result.recompressed += recompressed;
+        result.unchanged += unchanged;
+    }
+
+    @Nullable
+    private static byte[] readChunk(RegionFile region, int x, int z) {
+        try (DataInputStream in = region.getChunkDataInputStream(x, z)) {
+            return in == null ? null : ByteStreams.toByteArray(in);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static int countChunks(RegionFile region) {
+        int chunks = 0;
+        for (int offset : region.offsets) {
+            if (offset != 0) {
+                chunks++;
+            }
+        }
+        return chunks;
+    }
+
+    private static void releaseCached(File file) throws IOException {
+        synchronized (RegionFileCache.class) {
+            final RegionFile cached = RegionFileCache.REGIONS_BY_FILE.remove(file);
+            if (cached != null) {
+                cached.close();
+            }
+        }
+    }
+
+    /**
+     * The outcome of recompressing the region files of a world.
+     */
+    public static final class Result {
+
+        int recompressed;
+        int unchanged;
+        int files;
+
+        /**
+         * Gets the number of chunks written with the new compression.
+         *
+         * @return The number of recompressed chunks
+         */
+        public int getRecompressed() {
+            return this.recompressed;
+        }
+
+        /**
+         * Gets the number of chunks that could not be read and were kept as
+         * they were stored.
+         *
+         * @return The number of unchanged chunks
+         */
+        public int getUnchanged() {
+            return this.unchanged;
+        }
+
+        /**
+         * Gets the number of region files that were left untouched because
+         * of a corrupt sector header.
+         *
+         * @return The number of untouched region files
+         */
+        public int getUntouchedFiles() {
+            return this.files;
+        }
+
+    }
+
+}
@@ -28,27 +28,44 @@
 import net.minecraft.world.chunk.storage.RegionFile;
 import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.world.storage.ChunkDataStream;
+import org.spongepowered.common.SpongeImpl;
 
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import javax.annotation.Nullable;
 
 public class SpongeChunkDataStream implements ChunkDataStream {
 
     private static class RegionFileItr {
 
-        private final RegionFile file;
+        private final Path path;
+        @Nullable private final RegionFile file;
+        @Nullable private final MappedRegionFile mappedFile;
+        private final int[] offsets;
         public int index;
 
-        public RegionFileItr(RegionFile regionFile) {
+        public RegionFileItr(Path path, RegionFile regionFile) {
+            this.path = path;
             this.file = regionFile;
+            this.mappedFile = null;
+            this.offsets = regionFile.offsets;
+        }
+
+        public RegionFileItr(Path path, MappedRegionFile mappedFile) {
+            this.path = path;
+            this.file = null;
+            this.mappedFile = mappedFile;
+            this.offsets = mappedFile.getOffsets();
         }
 
         public int getNext() {
             int index = this.index;
-            int[] offsets = this.file.offsets;
+            int[] offsets = this.offsets;
             while (index != -1 && index < offsets.length && offsets[index] == 0) {
                 index++;
             }
@@ -58,9 +75,27 @@ public int getNext() {
             return index;
         }
 
-        public DataInputStream getStreamAt(int index) {
+        public int countRemaining() {
+            int count = 0;
+            for (int index = Math.max(this.index, 0); index < this.offsets.length; index++) {
+                if (this.offsets[index] != 0) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        public DataInputStream getStreamAt(int index) throws IOException {
             int x = index & 31;
             int z = index >>> 5;
+            if (this.mappedFile != null) {
+                if (this.mappedFile.isHeaderCurrent(x, z)) {
+                    return this.mappedFile.getChunkDataInputStream(x, z);
+                }
+                // The file was written to since it was mapped, the chunk may
+                // have moved, read it through the region file cache instead
+                return WorldStorageUtil.getRegionFile(this.path).getChunkDataInputStream(x, z);
+            }
             return this.file.getChunkDataInputStream(x, z);
         }
 
@@ -69,9 +104,24 @@ public DataInputStream getStreamAt(int index) {
     private final Set<Path> openedFiles = Sets.newHashSet();
     private RegionFileItr regionFileItr;
     private final Path worldDir;
+    private final BooleanSupplier mapped;
 
     public SpongeChunkDataStream(Path worldDir) {
+        this(worldDir, () -> false);
+    }
+
+    /**
+     * Creates a new stream over the generated chunks of a world.
+     *
+     * @param worldDir The world directory
+     * @param mapped Whether region files can currently be read through a
+     *     read-only memory mapping, only safe if the world is not being
+     *     written to. Checked again for every region file, as the stream may
+     *     be consumed long after it was created.
+     */
+    public SpongeChunkDataStream(Path worldDir, BooleanSupplier mapped) {
         this.worldDir = worldDir;
+        this.mapped = mapped;
     }
 
     private boolean itrAvailable() {
@@ -81,7 +131,7 @@ private boolean itrAvailable() {
         Iterable<Path> files = WorldStorageUtil.listRegionFiles(this.worldDir);
         for (Path file : files) {
             if (!this.openedFiles.contains(file)) {
-                this.regionFileItr = new RegionFileItr(WorldStorageUtil.getRegionFile(file));
+                this.regionFileItr = this.openRegionFile(file);
                 this.openedFiles.add(file);
                 return true;
             }
@@ -89,6 +139,17 @@ private boolean itrAvailable() {
         return false;
     }
 
+    private RegionFileItr openRegionFile(Path file) {
+        if (this.mapped.getAsBoolean()) {
+            try {
+                return new RegionFileItr(file, new MappedRegionFile(file));
+            } catch (IOException e) {
+                SpongeImpl.getLogger().warn("Unable to map region file {}, falling back to the region file cache", file, e);
+            }
+        }
+        return new RegionFileItr(file, WorldStorageUtil.getRegionFile(file));
+    }
+
     private int getNextIndex() {
         int next;
         while (itrAvailable()) {
@@ -108,8 +169,8 @@ public DataContainer next() {
             throw new NoSuchElementException();
         }
         this.regionFileItr.index = next + 1;
-        DataInputStream stream = this.regionFileItr.getStreamAt(next);
         try {
+            DataInputStream stream = this.regionFileItr.getStreamAt(next);
             return WorldStorageUtil.readDataFromRegion(stream);
         } catch (IOException e) {
             throw new RuntimeException(e);
@@ -123,20 +184,22 @@ public boolean hasNext() {
 
     @Override
     public int available() {
-        // Advance to the end of the stream, counting along the way. Store
-        // previous state and reset to it afterwards.
-        RegionFileItr currentItr = this.regionFileItr;
-        Set<Path> currentOpenedFiles = Sets.newHashSet(this.openedFiles);
+        // Count the chunks left in the current file and read only the
+        // headers of the files not opened yet
         int count = 0;
-        int index = getNextIndex();
-        while (index != -1) {
-            count++;
-            this.regionFileItr.index = index + 1;
-            index = getNextIndex();
+        if (this.regionFileItr != null) {
+            count += this.regionFileItr.countRemaining();
+        }
+        for (Path file : WorldStorageUtil.listRegionFiles(this.worldDir)) {
+            if (this.openedFiles.contains(file)) {
+                continue;
+            }
+            try {
+                count += MappedRegionFile.readChunkBitmap(file).cardinality();
+            } catch (IOException e) {
+                SpongeImpl.getLogger().warn("Unable to read the header of region file {}", file, e);
+            }
         }
-        this.regionFileItr = currentItr;
-        this.openedFiles.clear();
-        this.openedFiles.addAll(currentOpenedFiles);
         return count;
     }
 
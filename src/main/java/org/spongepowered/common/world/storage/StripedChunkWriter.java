@@ -0,0 +1,195 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.util.math.ChunkPos;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.File;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nullable;
+
+/**
+ * A pool of chunk save workers, each owning a stripe of region files.
+ *
+ * <p>All writes to the same region file are submitted to the same single
+ * threaded stripe, which keeps them in submission order while writes to
+ * different region files proceed in parallel.</p>
+ *
+ * <p>Region files being written are marked as such, so the
+ * {@link net.minecraft.world.chunk.storage.RegionFileCache} does not close
+ * them when another stripe fills it up, see {@link #isWriting(File)}.</p>
+ */
+public final class StripedChunkWriter {
+
+    @Nullable private static StripedChunkWriter instance;
+    private static boolean initialized;
+    // Region files currently written by a stripe, each file only ever by the same one
+    private static final Set<File> writingFiles = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService[] stripes;
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder writeNanos = new LongAdder();
+    private volatile long maxWriteNanos;
+    private final AtomicInteger waitingFlushes = new AtomicInteger();
+
+    /**
+     * Gets the shared writer, or {@code null} if striped chunk saving is
+     * disabled and the vanilla file IO thread should be used instead.
+     *
+     * @return The writer, if enabled
+     */
+    @Nullable
+    public static synchronized StripedChunkWriter getInstance() {
+        if (!initialized) {
+            initialized = true;
+            final int threads = SpongeImpl.getGlobalConfig().getConfig().getGeneral().getChunkSaveThreads();
+            if (threads > 0) {
+                instance = new StripedChunkWriter(threads);
+            }
+        }
+        return instance;
+    }
+
+    private StripedChunkWriter(int threads) {
+        this.stripes = new ExecutorService[threads];
+        for (int i = 0; i < threads; i++) {
+            final ThreadFactory factory = new ThreadFactoryBuilder()
+                    .setNameFormat("Sponge - Chunk Save Thread #" + i)
+                    .setDaemon(true)
+                    .build();
+            this.stripes[i] = Executors.newSingleThreadExecutor(factory);
+        }
+    }
+
+    /**
+     * Queues a chunk write on the stripe owning the region file of the
+     * given chunk.
+     *
+     * @param saveLocation The chunk save location of the world
+     * @param pos The chunk position
+     * @param write The write to perform
+     */
+    public void submit(File saveLocation, ChunkPos pos, Runnable write) {
+        final File regionFile = new File(new File(saveLocation, "region"), "r." + (pos.x >> 5) + "." + (pos.z >> 5) + ".mca");
+        this.queueDepth.incrementAndGet();
+        this.getStripe(saveLocation, pos.x >> 5, pos.z >> 5).execute(() -> {
+            final long start = System.nanoTime();
+            writingFiles.add(regionFile);
+            try {
+                write.run();
+            } finally {
+                writingFiles.remove(regionFile);
+                final long elapsed = System.nanoTime() - start;
+                this.writes.increment();
+                this.writeNanos.add(elapsed);
+                if (elapsed > this.maxWriteNanos) {
+                    this.maxWriteNanos = elapsed;
+                }
+                this.queueDepth.decrementAndGet();
+            }
+            this.sleep();
+        });
+    }
+
+    // Same throttle as the vanilla file IO thread, see MixinThreadedFileIOBase
+    private void sleep() {
+        if (!SpongeImpl.getGlobalConfig().getConfig().getGeneral().getFileIOThreadSleep()) {
+            return;
+        }
+
+        try {
+            Thread.sleep(this.waitingFlushes.get() > 0 ? 0L : 2L);
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Gets whether the given region file is being written by a stripe right
+     * now, in which case it must not be closed.
+     *
+     * @param regionFile The region file
+     * @return True if it is being written
+     */
+    public static boolean isWriting(File regionFile) {
+        return writingFiles.contains(regionFile);
+    }
+
+    /**
+     * Blocks until every write submitted before this call has completed.
+     */
+    public void flush() {
+        this.waitingFlushes.incrementAndGet();
+        try {
+            final CompletableFuture<?>[] barriers = new CompletableFuture<?>[this.stripes.length];
+            for (int i = 0; i < this.stripes.length; i++) {
+                barriers[i] = CompletableFuture.runAsync(() -> { }, this.stripes[i]);
+            }
+            CompletableFuture.allOf(barriers).join();
+        } finally {
+            this.waitingFlushes.decrementAndGet();
+        }
+    }
+
+    private ExecutorService getStripe(File saveLocation, int regionX, int regionZ) {
+        int hash = saveLocation.hashCode();
+        hash = 31 * hash + regionX;
+        hash = 31 * hash + regionZ;
+        return this.stripes[Math.floorMod(hash ^ (hash >>> 16), this.stripes.length)];
+    }
+
+    public int getThreadCount() {
+        return this.stripes.length;
+    }
+
+    public int getQueueDepth() {
+        return this.queueDepth.get();
+    }
+
+    public long getWriteCount() {
+        return this.writes.sum();
+    }
+
+    public double getAverageWriteMillis() {
+        final long count = this.writes.sum();
+        return count == 0 ? 0 : this.writeNanos.sum() / (double) count / 1000000D;
+    }
+
+    public double getMaxWriteMillis() {
+        return this.maxWriteNanos / 1000000D;
+    }
+
+}
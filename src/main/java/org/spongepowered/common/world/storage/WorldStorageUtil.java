@@ -47,6 +47,9 @@
 import java.util.Collections;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class WorldStorageUtil {
 
@@ -56,7 +59,12 @@ public static CompletableFuture<Boolean> doesChunkExist(WorldServer world, IChun
         if (!(chunkLoader instanceof IMixinAnvilChunkLoader) || !SpongeChunkLayout.instance.isValidChunk(x, chunkCoords.getY(), z)) {
             return CompletableFuture.completedFuture(false);
         }
-        return SpongeImpl.getScheduler().submitAsyncTask(() -> ((IMixinAnvilChunkLoader) chunkLoader).chunkExists(world, x, z));
+        final IMixinAnvilChunkLoader loader = (IMixinAnvilChunkLoader) chunkLoader;
+        if (loader.getRegionExistenceIndex().isIndexed(x, z)) {
+            // Answered from memory, no need to go through the scheduler
+            return CompletableFuture.completedFuture(loader.chunkExists(world, x, z));
+        }
+        return SpongeImpl.getScheduler().submitAsyncTask(() -> loader.chunkExists(world, x, z));
     }
 
     public static CompletableFuture<Optional<DataContainer>> getChunkData(WorldServer world, IChunkLoader chunkLoader, Vector3i chunkCoords) {
@@ -67,12 +75,36 @@ public static CompletableFuture<Optional<DataContainer>> getChunkData(WorldServe
             return CompletableFuture.completedFuture(Optional.empty());
         }
         File worldDir = ((IMixinAnvilChunkLoader) chunkLoader).getWorldDir().toFile();
+        if (canMapRegionFiles(world, chunkLoader)) {
+            Path regionFile = worldDir.toPath().resolve("region").resolve("r." + (x >> 5) + "." + (z >> 5) + ".mca");
+            return SpongeImpl.getScheduler().submitAsyncTask(() -> {
+                if (!Files.exists(regionFile)) {
+                    return Optional.empty();
+                }
+                DataInputStream stream = MappedRegionFile.readChunk(regionFile, x & 31, z & 31);
+                return Optional.ofNullable(readDataFromRegion(stream));
+            });
+        }
         return SpongeImpl.getScheduler().submitAsyncTask(() -> {
             DataInputStream stream = RegionFileCache.getChunkInputStream(worldDir, x, z);
             return Optional.ofNullable(readDataFromRegion(stream));
         });
     }
 
+    /**
+     * Gets whether the region files of the world can be read through a
+     * {@link MappedRegionFile}, which is only the case while level saving is
+     * disabled and no chunks are waiting to be written.
+     *
+     * @param world The world
+     * @param chunkLoader The chunk loader of the world
+     * @return True if the region files will not be written to
+     */
+    public static boolean canMapRegionFiles(WorldServer world, IChunkLoader chunkLoader) {
+        return world.disableLevelSaving && chunkLoader instanceof IMixinAnvilChunkLoader
+                && !((IMixinAnvilChunkLoader) chunkLoader).hasPendingChunks();
+    }
+
     public static DataContainer readDataFromRegion(DataInputStream stream) throws IOException {
         if (stream == null) {
             return null;
@@ -91,6 +123,25 @@ public static DataContainer readDataFromRegion(DataInputStream stream) throws IO
         return NbtTranslator.getInstance().translateFrom(level);
     }
 
+    /**
+     * Creates a parallel stream over all generated chunks of a world, split
+     * by region file.
+     *
+     * <p>The stream holds region files open while it is consumed, it must be
+     * closed, preferably with a try-with-resources statement, so files are
+     * released when iteration stops early.</p>
+     *
+     * @param worldDir The world directory
+     * @param mapped Whether region files can currently be memory mapped,
+     *     checked for every file, see
+     *     {@link #canMapRegionFiles(WorldServer, IChunkLoader)}
+     * @return The parallel stream
+     */
+    public static Stream<DataContainer> streamGeneratedChunks(Path worldDir, BooleanSupplier mapped) {
+        final RegionChunkSpliterator spliterator = new RegionChunkSpliterator(Lists.newArrayList(listRegionFiles(worldDir)), mapped);
+        return StreamSupport.stream(spliterator, true).onClose(spliterator::close);
+    }
+
     public static Iterable<Path> listRegionFiles(Path worldDir) {
         try (DirectoryStream<Path> stream = Files.newDirectoryStream(worldDir.resolve("region"), "*.mca")) {
             return Lists.newArrayList(stream);
@@ -99,20 +150,13 @@ public static Iterable<Path> listRegionFiles(Path worldDir) {
         }
     }
 
-    // Similar to RegionFileCache#createOrLoadRegionFile except this uses direct
-    // file name instead of x,z
+    // Same as RegionFileCache#createOrLoadRegionFile except this uses direct
+    // file name instead of x,z. Goes through the cache's lock, which also
+    // keeps it from closing region files chunk save stripes are writing.
     public static RegionFile getRegionFile(Path regionFilePath) {
-        File file = regionFilePath.toFile();
-        RegionFile regionFile = RegionFileCache.REGIONS_BY_FILE.get(file);
-        if (regionFile != null) {
-            return regionFile;
-        }
-        if (RegionFileCache.REGIONS_BY_FILE.size() >= 256) {
-            RegionFileCache.clearRegionFileReferences();
-        }
-        regionFile = new RegionFile(file);
-        RegionFileCache.REGIONS_BY_FILE.put(file, regionFile);
-        return regionFile;
+        final String[] name = regionFilePath.getFileName().toString().split("\\.");
+        final File worldDir = regionFilePath.getParent().getParent().toFile();
+        return RegionFileCache.createOrLoadRegionFile(worldDir, Integer.parseInt(name[1]) << 5, Integer.parseInt(name[2]) << 5);
     }
 
 }
@@ -0,0 +1,103 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.entityactivation;
+
+import com.google.common.collect.ImmutableList;
+import net.minecraft.util.math.AxisAlignedBB;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class ActivationGridTest {
+
+    private static AxisAlignedBB player(double x, double y, double z) {
+        return new AxisAlignedBB(x - 0.3, y, z - 0.3, x + 0.3, y + 1.8, z + 0.3);
+    }
+
+    private static AxisAlignedBB entity(double x, double y, double z) {
+        return new AxisAlignedBB(x - 0.5, y, z - 0.5, x + 0.5, y + 1, z + 0.5);
+    }
+
+    // What the grid replaces, intersecting the grown bounding boxes of all players
+    private static boolean isInRangeOfAny(int range, List<AxisAlignedBB> players, AxisAlignedBB box) {
+        for (AxisAlignedBB player : players) {
+            if (player.grow(range, 256, range).intersects(box)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void testNoPlayers() {
+        final ActivationGrid grid = new ActivationGrid(32, Collections.emptyList());
+        Assert.assertFalse(grid.isInRange(entity(0, 64, 0)));
+    }
+
+    @Test
+    public void testRangeBoundary() {
+        final ActivationGrid grid = new ActivationGrid(32, ImmutableList.of(player(0.5, 64, 0.5)));
+        Assert.assertTrue(grid.isInRange(entity(0.5, 64, 0.5)));
+        Assert.assertTrue(grid.isInRange(entity(32, 64, 0.5)));
+        Assert.assertTrue(grid.isInRange(entity(-31, 64, -31)));
+        // The grown box of the player ends at x 32.8
+        Assert.assertTrue(grid.isInRange(entity(33.2, 64, 0.5)));
+        Assert.assertFalse(grid.isInRange(entity(33.4, 64, 0.5)));
+        Assert.assertFalse(grid.isInRange(entity(100, 64, 0.5)));
+        Assert.assertFalse(grid.isInRange(entity(0.5, 64, -100)));
+    }
+
+    @Test
+    public void testWholeHeight() {
+        final ActivationGrid grid = new ActivationGrid(16, ImmutableList.of(player(0.5, 64, 0.5)));
+        Assert.assertTrue(grid.isInRange(entity(0.5, 0, 0.5)));
+        Assert.assertTrue(grid.isInRange(entity(0.5, 255, 0.5)));
+        Assert.assertTrue(grid.isInRange(entity(0.5, -10, 0.5)));
+        Assert.assertFalse(grid.isInRange(entity(0.5, 400, 0.5)));
+    }
+
+    @Test
+    public void testMatchesGrownBoundingBoxes() {
+        final Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            final int range = 8 + random.nextInt(64);
+            final List<AxisAlignedBB> players = new ArrayList<>();
+            final int playerCount = random.nextInt(6);
+            for (int i = 0; i < playerCount; i++) {
+                players.add(player(random.nextDouble() * 400 - 200, random.nextDouble() * 300 - 20, random.nextDouble() * 400 - 200));
+            }
+            final ActivationGrid grid = new ActivationGrid(range, players);
+            for (int i = 0; i < 1000; i++) {
+                final AxisAlignedBB box = entity(random.nextDouble() * 600 - 300, random.nextDouble() * 600 - 300, random.nextDouble() * 600 - 300);
+                Assert.assertEquals(box + " with range " + range, isInRangeOfAny(range, players, box), grid.isInRange(box));
+            }
+        }
+    }
+
+}
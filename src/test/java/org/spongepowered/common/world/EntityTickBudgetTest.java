@@ -0,0 +1,133 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class EntityTickBudgetTest {
+
+    // Runs a tick over the given number of entities, the same way the budget is used for a chunk
+    private static boolean[] tick(EntityTickBudget.Budget budget, int entities, int limit) {
+        final boolean[] ticked = new boolean[entities];
+        for (int i = 0; i < entities; i++) {
+            if (budget.next(limit)) {
+                budget.onTicked();
+                ticked[i] = true;
+            }
+        }
+        return ticked;
+    }
+
+    private static int count(boolean[] ticked) {
+        int count = 0;
+        for (boolean entity : ticked) {
+            if (entity) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void testWithinLimit() {
+        final EntityTickBudget.Budget budget = new EntityTickBudget.Budget();
+        for (int tick = 0; tick < 5; tick++) {
+            Assert.assertEquals(4, count(tick(budget, 4, 4)));
+            Assert.assertTrue(budget.rotate());
+        }
+    }
+
+    @Test
+    public void testFirstTickTicksFirstEntities() {
+        final EntityTickBudget.Budget budget = new EntityTickBudget.Budget();
+        final boolean[] ticked = tick(budget, 5, 2);
+        Assert.assertTrue(Arrays.equals(new boolean[] {true, true, false, false, false}, ticked));
+    }
+
+    @Test
+    public void testWindowRotates() {
+        final EntityTickBudget.Budget budget = new EntityTickBudget.Budget();
+        tick(budget, 5, 2);
+        budget.rotate();
+        // Continues with the entities deferred last tick
+        Assert.assertTrue(Arrays.equals(new boolean[] {false, false, true, true, false}, tick(budget, 5, 2)));
+        budget.rotate();
+        // Wraps around the end of the list
+        Assert.assertTrue(Arrays.equals(new boolean[] {true, false, false, false, true}, tick(budget, 5, 2)));
+    }
+
+    @Test
+    public void testEveryEntityTicks() {
+        final int entities = 23;
+        final int limit = 5;
+        final int ticksPerRound = (entities + limit - 1) / limit;
+        final EntityTickBudget.Budget budget = new EntityTickBudget.Budget();
+        final int[] lastTicked = new int[entities];
+        Arrays.fill(lastTicked, -1);
+        for (int tick = 0; tick < 100; tick++) {
+            final boolean[] ticked = tick(budget, entities, limit);
+            Assert.assertEquals(limit, count(ticked));
+            for (int i = 0; i < entities; i++) {
+                if (ticked[i]) {
+                    lastTicked[i] = tick;
+                } else if (tick >= ticksPerRound) {
+                    Assert.assertTrue("entity " + i + " deferred too long", tick - lastTicked[i] < ticksPerRound);
+                }
+            }
+            budget.rotate();
+        }
+    }
+
+    @Test
+    public void testShrinkingChunk() {
+        final EntityTickBudget.Budget budget = new EntityTickBudget.Budget();
+        for (int tick = 0; tick < 3; tick++) {
+            tick(budget, 10, 3);
+            budget.rotate();
+        }
+        // Entities were removed, the window may point past the end of the list for one tick
+        // but continues with the first entity that was deferred
+        final boolean[] first = tick(budget, 4, 3);
+        Assert.assertTrue(count(first) <= 3);
+        budget.rotate();
+        final boolean[] second = tick(budget, 4, 3);
+        Assert.assertEquals(3, count(second));
+        for (int i = 0; i < 4; i++) {
+            Assert.assertTrue("entity " + i + " not ticked", first[i] || second[i]);
+        }
+    }
+
+    @Test
+    public void testUnusedBudget() {
+        final EntityTickBudget.Budget budget = new EntityTickBudget.Budget();
+        tick(budget, 3, 2);
+        Assert.assertTrue(budget.rotate());
+        Assert.assertFalse(budget.rotate());
+    }
+
+}
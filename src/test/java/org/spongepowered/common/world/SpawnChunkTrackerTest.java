@@ -0,0 +1,143 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import com.google.common.collect.ImmutableList;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.math.ChunkPos;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.spongepowered.common.interfaces.entity.player.IMixinEntityPlayer;
+
+import java.util.Collections;
+
+public class SpawnChunkTrackerTest {
+
+    private static EntityPlayer player(double x, double z) {
+        final EntityPlayer player = Mockito.mock(EntityPlayer.class, Mockito.withSettings().extraInterfaces(IMixinEntityPlayer.class));
+        Mockito.when(((IMixinEntityPlayer) player).affectsSpawning()).thenReturn(true);
+        player.posX = x;
+        player.posZ = z;
+        return player;
+    }
+
+    private static int getCount(SpawnChunkTracker tracker, int chunkX, int chunkZ) {
+        return tracker.getCoveredChunks().get(ChunkPos.asLong(chunkX, chunkZ));
+    }
+
+    private static boolean isInner(SpawnChunkTracker tracker, int chunkX, int chunkZ) {
+        return tracker.isInnerChunk(ChunkPos.asLong(chunkX, chunkZ));
+    }
+
+    @Test
+    public void testSinglePlayer() {
+        final SpawnChunkTracker tracker = new SpawnChunkTracker();
+        tracker.update(ImmutableList.of(player(8, 8)), 2);
+        Assert.assertEquals(25, tracker.getCoveredChunks().size());
+        Assert.assertEquals(1, getCount(tracker, -2, 2));
+        Assert.assertEquals(0, getCount(tracker, 3, 0));
+        Assert.assertTrue(isInner(tracker, 0, 0));
+        Assert.assertTrue(isInner(tracker, -1, 1));
+        Assert.assertFalse(isInner(tracker, 2, 0));
+        Assert.assertFalse(isInner(tracker, -2, -2));
+    }
+
+    @Test
+    public void testNegativePositions() {
+        final SpawnChunkTracker tracker = new SpawnChunkTracker();
+        tracker.update(ImmutableList.of(player(-0.5, -16.5)), 1);
+        Assert.assertTrue(isInner(tracker, -1, -2));
+        Assert.assertEquals(1, getCount(tracker, -2, -3));
+        Assert.assertEquals(0, getCount(tracker, 1, -2));
+    }
+
+    @Test
+    public void testOverlappingPlayers() {
+        final SpawnChunkTracker tracker = new SpawnChunkTracker();
+        tracker.update(ImmutableList.of(player(8, 8), player(24, 8)), 1);
+        Assert.assertEquals(12, tracker.getCoveredChunks().size());
+        Assert.assertEquals(1, getCount(tracker, -1, 0));
+        Assert.assertEquals(2, getCount(tracker, 0, 0));
+        Assert.assertEquals(2, getCount(tracker, 1, 1));
+        Assert.assertEquals(1, getCount(tracker, 2, 0));
+    }
+
+    @Test
+    public void testMovingPlayer() {
+        final SpawnChunkTracker tracker = new SpawnChunkTracker();
+        final EntityPlayer player = player(8, 8);
+        tracker.update(ImmutableList.of(player), 1);
+        player.posX = 8 + 16 * 10;
+        tracker.update(ImmutableList.of(player), 1);
+        Assert.assertEquals(9, tracker.getCoveredChunks().size());
+        Assert.assertEquals(0, getCount(tracker, 0, 0));
+        Assert.assertFalse(isInner(tracker, 0, 0));
+        Assert.assertTrue(isInner(tracker, 10, 0));
+    }
+
+    @Test
+    public void testPlayerLeaving() {
+        final SpawnChunkTracker tracker = new SpawnChunkTracker();
+        final EntityPlayer first = player(8, 8);
+        final EntityPlayer second = player(8, 8);
+        tracker.update(ImmutableList.of(first, second), 2);
+        tracker.update(ImmutableList.of(second), 2);
+        Assert.assertEquals(1, getCount(tracker, 0, 0));
+        tracker.remove(second);
+        Assert.assertTrue(tracker.getCoveredChunks().isEmpty());
+        Assert.assertFalse(isInner(tracker, 0, 0));
+        tracker.update(Collections.emptyList(), 2);
+        Assert.assertTrue(tracker.getCoveredChunks().isEmpty());
+    }
+
+    @Test
+    public void testPlayersNotAffectingSpawning() {
+        final SpawnChunkTracker tracker = new SpawnChunkTracker();
+        final EntityPlayer player = player(8, 8);
+        tracker.update(ImmutableList.of(player), 2);
+        Mockito.when(((IMixinEntityPlayer) player).affectsSpawning()).thenReturn(false);
+        tracker.update(ImmutableList.of(player), 2);
+        Assert.assertTrue(tracker.getCoveredChunks().isEmpty());
+
+        final EntityPlayer spectator = player(8, 8);
+        Mockito.when(spectator.isSpectator()).thenReturn(true);
+        tracker.update(ImmutableList.of(spectator), 2);
+        Assert.assertTrue(tracker.getCoveredChunks().isEmpty());
+    }
+
+    @Test
+    public void testRangeChange() {
+        final SpawnChunkTracker tracker = new SpawnChunkTracker();
+        final EntityPlayer player = player(8, 8);
+        tracker.update(ImmutableList.of(player), 2);
+        tracker.update(ImmutableList.of(player), 1);
+        Assert.assertEquals(9, tracker.getCoveredChunks().size());
+        Assert.assertEquals(1, getCount(tracker, 1, 1));
+        Assert.assertTrue(isInner(tracker, 0, 0));
+        Assert.assertFalse(isInner(tracker, 1, 0));
+    }
+
+}
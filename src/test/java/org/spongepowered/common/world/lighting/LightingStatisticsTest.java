@@ -0,0 +1,85 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.lighting;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LightingStatisticsTest {
+
+    @Test
+    public void testEmptyWindow() {
+        final LightingStatistics.Window window = new LightingStatistics().getWindow();
+        Assert.assertEquals(0, window.getCount());
+        Assert.assertEquals(0, window.getAverageTime());
+        Assert.assertEquals(0, window.getPercentileTime(0.5));
+        Assert.assertEquals(0, window.getTasksPerSecond(), 0);
+    }
+
+    @Test
+    public void testCountAndAverage() {
+        final LightingStatistics statistics = new LightingStatistics();
+        statistics.record(1000);
+        statistics.record(2000);
+        statistics.record(6000);
+        final LightingStatistics.Window window = statistics.getWindow();
+        Assert.assertEquals(3, window.getCount());
+        Assert.assertEquals(3000, window.getAverageTime());
+    }
+
+    @Test
+    public void testPercentilesAreBucketUpperBounds() {
+        final LightingStatistics statistics = new LightingStatistics();
+        for (int i = 0; i < 9; i++) {
+            statistics.record(1000);
+        }
+        statistics.record(1000000);
+        final LightingStatistics.Window window = statistics.getWindow();
+        Assert.assertEquals(1024, window.getPercentileTime(0.5));
+        Assert.assertEquals(1024, window.getPercentileTime(0.9));
+        Assert.assertEquals(1 << 20, window.getPercentileTime(0.99));
+        Assert.assertEquals(1 << 20, window.getPercentileTime(1));
+    }
+
+    @Test
+    public void testPowersOfTwoStartTheNextBucket() {
+        final LightingStatistics statistics = new LightingStatistics();
+        statistics.record(1023);
+        Assert.assertEquals(1024, statistics.getWindow().getPercentileTime(1));
+        statistics.record(1024);
+        Assert.assertEquals(2048, statistics.getWindow().getPercentileTime(1));
+    }
+
+    @Test
+    public void testNonPositiveTimes() {
+        final LightingStatistics statistics = new LightingStatistics();
+        statistics.record(0);
+        statistics.record(-5);
+        final LightingStatistics.Window window = statistics.getWindow();
+        Assert.assertEquals(2, window.getCount());
+        Assert.assertEquals(1, window.getPercentileTime(1));
+    }
+
+}
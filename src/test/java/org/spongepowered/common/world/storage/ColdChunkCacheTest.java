@@ -0,0 +1,154 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+
+public class ColdChunkCacheTest {
+
+    private static final long MINUTE = 60 * 1000L;
+
+    private static byte[] compress(String data, ChunkCompression compression) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = compression.compress(bytes, Deflater.DEFAULT_COMPRESSION)) {
+            out.write(data.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String read(DataInputStream stream) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[256];
+        int read;
+        while ((read = stream.read(buffer)) != -1) {
+            bytes.write(buffer, 0, read);
+        }
+        return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testDisabledByDefault() throws IOException {
+        final ColdChunkCache cache = new ColdChunkCache();
+        Assert.assertFalse(cache.isEnabled());
+        cache.put(0, compress("chunk", ChunkCompression.DEFLATE), ChunkCompression.DEFLATE);
+        Assert.assertEquals(0, cache.getCount());
+        Assert.assertNull(cache.remove(0));
+    }
+
+    @Test
+    public void testRemoveDecompresses() throws IOException {
+        final ColdChunkCache cache = new ColdChunkCache();
+        cache.setLimits(1024 * 1024, MINUTE);
+        for (ChunkCompression compression : ChunkCompression.values()) {
+            final long key = compression.ordinal();
+            cache.put(key, compress("chunk " + compression, compression), compression);
+            Assert.assertEquals("chunk " + compression, read(cache.remove(key)));
+        }
+        Assert.assertEquals(0, cache.getCount());
+        Assert.assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void testRemovedOnce() throws IOException {
+        final ColdChunkCache cache = new ColdChunkCache();
+        cache.setLimits(1024 * 1024, MINUTE);
+        cache.put(1, compress("chunk", ChunkCompression.DEFLATE), ChunkCompression.DEFLATE);
+        Assert.assertNotNull(cache.remove(1));
+        Assert.assertNull(cache.remove(1));
+        Assert.assertNull(cache.remove(2));
+        Assert.assertEquals(1, cache.getHits());
+        Assert.assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testReplaceKeepsSize() {
+        final ColdChunkCache cache = new ColdChunkCache();
+        cache.setLimits(1024 * 1024, MINUTE);
+        cache.put(1, new byte[100], ChunkCompression.NONE);
+        cache.put(1, new byte[40], ChunkCompression.NONE);
+        Assert.assertEquals(1, cache.getCount());
+        Assert.assertEquals(40, cache.getSize());
+        cache.invalidate(1);
+        Assert.assertEquals(0, cache.getCount());
+        Assert.assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyCached() {
+        final ColdChunkCache cache = new ColdChunkCache();
+        cache.setLimits(250, MINUTE);
+        cache.put(1, new byte[100], ChunkCompression.NONE);
+        cache.put(2, new byte[100], ChunkCompression.NONE);
+        cache.put(3, new byte[100], ChunkCompression.NONE);
+        Assert.assertEquals(2, cache.getCount());
+        Assert.assertEquals(200, cache.getSize());
+        Assert.assertNull(cache.remove(1));
+        Assert.assertNotNull(cache.remove(2));
+        Assert.assertNotNull(cache.remove(3));
+    }
+
+    @Test
+    public void testSkipsOversizedData() {
+        final ColdChunkCache cache = new ColdChunkCache();
+        cache.setLimits(50, MINUTE);
+        cache.put(1, new byte[100], ChunkCompression.NONE);
+        Assert.assertEquals(0, cache.getCount());
+        Assert.assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void testShrinkingLimitsEvicts() {
+        final ColdChunkCache cache = new ColdChunkCache();
+        cache.setLimits(1024, MINUTE);
+        cache.put(1, new byte[100], ChunkCompression.NONE);
+        cache.put(2, new byte[100], ChunkCompression.NONE);
+        cache.setLimits(150, MINUTE);
+        Assert.assertEquals(1, cache.getCount());
+        Assert.assertNotNull(cache.remove(2));
+        cache.put(3, new byte[100], ChunkCompression.NONE);
+        cache.setLimits(0, MINUTE);
+        Assert.assertFalse(cache.isEnabled());
+        Assert.assertEquals(0, cache.getCount());
+    }
+
+    @Test
+    public void testExpiredEntriesAreEvicted() {
+        final ColdChunkCache cache = new ColdChunkCache();
+        // Every entry is older than a negative expiry
+        cache.setLimits(1024, -1);
+        cache.put(1, new byte[100], ChunkCompression.NONE);
+        Assert.assertEquals(0, cache.getCount());
+        Assert.assertNull(cache.remove(1));
+    }
+
+}
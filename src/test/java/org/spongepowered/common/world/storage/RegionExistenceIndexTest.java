@@ -0,0 +1,129 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+public class RegionExistenceIndexTest {
+
+    private Path worldDir;
+
+    @Before
+    public void createWorldDir() throws IOException {
+        this.worldDir = Files.createTempDirectory("sponge-region-index");
+        Files.createDirectory(this.worldDir.resolve("region"));
+    }
+
+    @After
+    public void deleteWorldDir() throws IOException {
+        try (Stream<Path> files = Files.list(this.worldDir.resolve("region"))) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(this.worldDir.resolve("region"));
+        Files.delete(this.worldDir);
+    }
+
+    private void writeRegion(int regionX, int regionZ, int... localChunks) throws IOException {
+        // Only the header is read, the chunk data itself is never looked at
+        final ByteBuffer header = ByteBuffer.allocate(8192);
+        for (int index : localChunks) {
+            header.putInt(index * 4, (2 << 8) | 1);
+        }
+        Files.write(this.worldDir.resolve("region").resolve("r." + regionX + "." + regionZ + ".mca"), header.array());
+    }
+
+    @Test
+    public void testMissingRegion() {
+        final RegionExistenceIndex index = new RegionExistenceIndex(this.worldDir);
+        Assert.assertFalse(index.isIndexed(0, 0));
+        Assert.assertFalse(index.exists(0, 0));
+        Assert.assertTrue(index.isIndexed(0, 0));
+        Assert.assertTrue(index.isIndexed(31, 31));
+        Assert.assertFalse(index.isIndexed(32, 0));
+    }
+
+    @Test
+    public void testReadsHeader() throws IOException {
+        writeRegion(0, 0, 3 + 5 * 32, 1023);
+        final RegionExistenceIndex index = new RegionExistenceIndex(this.worldDir);
+        Assert.assertTrue(index.exists(3, 5));
+        Assert.assertTrue(index.exists(31, 31));
+        Assert.assertFalse(index.exists(5, 3));
+        Assert.assertFalse(index.exists(0, 0));
+    }
+
+    @Test
+    public void testNegativeCoordinates() throws IOException {
+        writeRegion(-1, -1, 3 + 5 * 32);
+        final RegionExistenceIndex index = new RegionExistenceIndex(this.worldDir);
+        Assert.assertTrue(index.exists(-29, -27));
+        Assert.assertFalse(index.exists(3, 5));
+        Assert.assertFalse(index.exists(-28, -27));
+    }
+
+    @Test
+    public void testMarkWritten() throws IOException {
+        writeRegion(0, 0, 0);
+        final RegionExistenceIndex index = new RegionExistenceIndex(this.worldDir);
+        index.markWritten(10, 20);
+        Assert.assertTrue(index.isIndexed(10, 20));
+        Assert.assertTrue(index.exists(10, 20));
+        Assert.assertTrue(index.exists(0, 0));
+        index.markWritten(-1, 64);
+        Assert.assertTrue(index.exists(-1, 64));
+        Assert.assertFalse(index.exists(-2, 64));
+    }
+
+    @Test
+    public void testIndexedOnlyOnce() throws IOException {
+        final RegionExistenceIndex index = new RegionExistenceIndex(this.worldDir);
+        Assert.assertFalse(index.exists(1, 1));
+        // Written by something else than the loader, the index isn't read again
+        writeRegion(0, 0, 1 + 32);
+        Assert.assertFalse(index.exists(1, 1));
+        index.markWritten(1, 1);
+        Assert.assertTrue(index.exists(1, 1));
+    }
+
+    @Test
+    public void testTruncatedHeader() throws IOException {
+        Files.write(this.worldDir.resolve("region").resolve("r.0.0.mca"), new byte[100]);
+        final RegionExistenceIndex index = new RegionExistenceIndex(this.worldDir);
+        Assert.assertFalse(index.exists(0, 0));
+        Assert.assertTrue(index.isIndexed(0, 0));
+    }
+
+}